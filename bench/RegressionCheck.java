@@ -0,0 +1,343 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The {@code RegressionCheck} class checks the batch and tax calculations against independent
+ * references, and exits with status 1 if any check fails.
+ * <p>
+ * The checks are:
+ * <ul>
+ *     <li>{@link TaxSchedule#taxCents(long)} of every published year and filing status equals
+ *     the sum of each bracket's share of the income times its rate, worked out in
+ *     {@link BigDecimal} and rounded half-up to the cent, at every bracket boundary and its
+ *     neighbours and at random incomes;</li>
+ *     <li>{@link TaxSchedule#incomeCentsForTax(long)} and
+ *     {@link TaxSchedule#incomeCentsForNet(long)} return an income that meets the target while
+ *     the income a cent lower does not;</li>
+ *     <li>{@link TaxSweep} agrees with the schedule at every point of a random curve for each
+ *     filing status;</li>
+ *     <li>{@link DenseTaxTable} agrees with the schedule at every whole-dollar income up to its
+ *     ceiling;</li>
+ *     <li>a {@link CheckpointedBatchRunner} run stopped part way through by a bad record, with
+ *     stray bytes left past its checkpoint, resumes once the record is repaired to output
+ *     byte-for-byte identical to a {@link CsvBatchProcessor} run over the repaired file.</li>
+ * </ul>
+ * Usage: {@code java RegressionCheck [seed [randomCases]]}
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class RegressionCheck {
+
+    // The number of records in the file the resume check runs over
+    private static final int BATCH_RECORDS = 20_000;
+
+    // The checkpoint interval of the resume check, in records
+    private static final int CHECKPOINT_RECORDS = 1_000;
+
+    // The records the resume check stops at, counting from 0
+    private static final int[] STOP_RECORDS = {0, 999, 1_000, 7_345, BATCH_RECORDS - 1};
+
+    // The most failures reported in detail before the rest are only counted
+    private static final int MAX_REPORTED = 20;
+
+    // The number of failed checks so far
+    private static int failures;
+
+    public static void main(String[] args) throws IOException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 2025L;
+        int randomCases = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        Random random = new Random(seed);
+
+        long started = System.nanoTime();
+        checkTaxCents(random, randomCases);
+        checkInverses(random, randomCases);
+        checkSweep(random);
+        checkDenseTable();
+        checkResume(random);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        if (failures > 0) {
+            System.out.printf("FAILED: %d check(s) failed (seed %d, %d ms)%n", failures, seed, millis);
+            System.exit(1);
+        }
+        System.out.printf("All checks passed (seed %d, %d ms)%n", seed, millis);
+    } // End main method
+
+    // Checks the tax of every published schedule against the BigDecimal reference
+    private static void checkTaxCents(Random random, int randomCases) {
+        for (int year = TaxScheduleRegistry.FIRST_YEAR; year <= TaxTableCalculator.TAX_YEAR; year++) {
+            for (int status = 1; status <= 5; status++) {
+                TaxSchedule schedule = TaxScheduleRegistry.schedule(year, status);
+                String name = year + "/" + status;
+                for (int bracket = 0; bracket < schedule.bracketCount(); bracket++) {
+                    long lower = schedule.lowerBoundCents(bracket);
+                    for (long delta = -101; delta <= 101; delta++) {
+                        if (lower + delta >= 0) {
+                            checkTax(name, schedule, lower + delta);
+                        }
+                    }
+                }
+                for (int i = 0; i < randomCases / 10; i++) {
+                    checkTax(name, schedule, randomIncome(random));
+                }
+            } // End for loop over filing statuses
+        } // End for loop over years
+        report("taxCents against the exact reference");
+    } // End checkTaxCents method
+
+    // Checks one income against the BigDecimal reference
+    private static void checkTax(String name, TaxSchedule schedule, long incomeCents) {
+        long expected = referenceTaxCents(schedule, incomeCents);
+        long actual = schedule.taxCents(incomeCents);
+        if (actual != expected) {
+            fail("taxCents " + name + " of " + incomeCents + " is " + actual + ", expected " + expected);
+        }
+    } // End checkTax method
+
+    /*
+     * Works out the tax on an income as the sum of each bracket's share of the income times
+     * its rate, exactly, rounded half-up to the cent. This shares nothing with the schedule's
+     * own arithmetic beyond its bracket bounds and rates.
+     */
+    private static long referenceTaxCents(TaxSchedule schedule, long incomeCents) {
+        BigDecimal income = BigDecimal.valueOf(incomeCents, 2);
+        BigDecimal tax = BigDecimal.ZERO;
+        for (int bracket = 0; bracket < schedule.bracketCount(); bracket++) {
+            BigDecimal lower = BigDecimal.valueOf(schedule.lowerBoundCents(bracket), 2);
+            if (income.compareTo(lower) <= 0) {
+                break;
+            }
+            BigDecimal upper = bracket + 1 < schedule.bracketCount()
+                    ? BigDecimal.valueOf(schedule.lowerBoundCents(bracket + 1), 2).min(income)
+                    : income;
+            tax = tax.add(upper.subtract(lower).multiply(BigDecimal.valueOf(schedule.ratePercent(bracket), 2)));
+        }
+        return tax.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    } // End referenceTaxCents method
+
+    // Checks that both inverses return the smallest income meeting their target
+    private static void checkInverses(Random random, int randomCases) {
+        for (int status = 1; status <= 5; status++) {
+            TaxSchedule schedule = TaxTableCalculator.schedule(status);
+            long[] targets = new long[randomCases / 5 + 6 * schedule.bracketCount() + 3];
+            int count = 0;
+            targets[count++] = -1;
+            targets[count++] = 0;
+            targets[count++] = 1;
+            for (int bracket = 0; bracket < schedule.bracketCount(); bracket++) {
+                long tax = schedule.baseTaxCents(bracket);
+                long net = schedule.lowerBoundCents(bracket) - tax;
+                for (long delta = -1; delta <= 1; delta++) {
+                    targets[count++] = tax + delta;
+                    targets[count++] = net + delta;
+                }
+            }
+            while (count < targets.length) {
+                targets[count++] = random.nextLong(100_000_000L);
+            }
+
+            for (long target : targets) {
+                long forTax = schedule.incomeCentsForTax(target);
+                if (!meetsTax(schedule, forTax, target) || (forTax > 0 && meetsTax(schedule, forTax - 1, target))) {
+                    fail("incomeCentsForTax " + status + " of " + target + " is " + forTax
+                            + ", which is not the smallest income owing that tax");
+                }
+                long forNet = schedule.incomeCentsForNet(target);
+                if (!meetsNet(schedule, forNet, target) || (forNet > 0 && meetsNet(schedule, forNet - 1, target))) {
+                    fail("incomeCentsForNet " + status + " of " + target + " is " + forNet
+                            + ", which is not the smallest income leaving that net");
+                }
+            }
+        } // End for loop over filing statuses
+        report("incomeCentsForTax and incomeCentsForNet minimality");
+    } // End checkInverses method
+
+    // Returns whether an income owes at least the target tax
+    private static boolean meetsTax(TaxSchedule schedule, long incomeCents, long targetCents) {
+        return schedule.taxCents(incomeCents) >= targetCents;
+    } // End meetsTax method
+
+    // Returns whether an income leaves at least the target after tax
+    private static boolean meetsNet(TaxSchedule schedule, long incomeCents, long targetCents) {
+        return incomeCents - schedule.taxCents(incomeCents) >= targetCents;
+    } // End meetsNet method
+
+    // Checks a sweep of each filing status against the schedule
+    private static void checkSweep(Random random) {
+        long[] curve = new long[100_000];
+        for (int status = 1; status <= 5; status++) {
+            TaxSchedule schedule = TaxTableCalculator.schedule(status);
+            long start = random.nextLong(1_000_000);
+            long step = 1 + random.nextLong(10_000);
+            TaxSweep.taxCents(status, start, step, curve, 0, curve.length);
+            for (int i = 0; i < curve.length; i++) {
+                long income = start + i * step;
+                if (curve[i] != schedule.taxCents(income)) {
+                    fail("TaxSweep " + status + " from " + start + " by " + step + " gives " + curve[i]
+                            + " on " + income + ", expected " + schedule.taxCents(income));
+                }
+            }
+        } // End for loop over filing statuses
+        report("TaxSweep against taxCents");
+    } // End checkSweep method
+
+    // Checks every entry of the dense table against the schedule
+    private static void checkDenseTable() {
+        DenseTaxTable table = new DenseTaxTable(1_000_000);
+        for (int status = 1; status <= 5; status++) {
+            TaxSchedule schedule = TaxTableCalculator.schedule(status);
+            for (int dollars = 0; dollars <= table.getCeiling(); dollars++) {
+                long income = dollars * 100L;
+                if (table.taxCents(status, income) != schedule.taxCents(income)) {
+                    fail("DenseTaxTable " + status + " gives " + table.taxCents(status, income) + " on "
+                            + income + ", expected " + schedule.taxCents(income));
+                }
+            }
+        } // End for loop over filing statuses
+        report("DenseTaxTable against taxCents");
+    } // End checkDenseTable method
+
+    /*
+     * Stops a checkpointed run at each of several records by giving that record an unknown
+     * filing status, leaves stray bytes past the end of the output as a killed run would, then
+     * repairs the record and resumes. The resumed output must equal a single uninterrupted
+     * run's, and the checkpoint must be gone.
+     */
+    private static void checkResume(Random random) throws IOException {
+        byte[] input = batchInput(random);
+        ByteArrayOutputStream reference = new ByteArrayOutputStream();
+        CsvBatchProcessor processor = new CsvBatchProcessor();
+        processor.process(new ByteArrayInputStream(input), reference);
+        byte[] expected = reference.toByteArray();
+
+        Path directory = Files.createTempDirectory("regression");
+        Path in = directory.resolve("in.csv");
+        Path out = directory.resolve("out.csv");
+        Path checkpoint = CheckpointedBatchRunner.checkpointFile(out);
+        try {
+            Files.write(in, input);
+            CheckpointedBatchRunner runner = new CheckpointedBatchRunner(CHECKPOINT_RECORDS);
+            long records = runner.process(in, out);
+            checkOutput("an uninterrupted run", out, expected, records);
+
+            for (int stop : STOP_RECORDS) {
+                Files.deleteIfExists(out);
+                int status = statusOffset(input, stop);
+                byte[] broken = input.clone();
+                broken[status] = '9';
+                Files.write(in, broken);
+                try {
+                    runner.process(in, out);
+                    fail("a run with a bad record " + stop + " did not stop");
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    // The run stops at the bad record, leaving its last checkpoint behind
+                }
+                Files.write(out, strayBytes(expected.length), StandardOpenOption.APPEND);
+
+                Files.write(in, input);
+                records = runner.process(in, out);
+                String name = "a run resumed after record " + stop;
+                checkOutput(name, out, expected, records);
+                long resumed = runner.getResumedRecords();
+                if (resumed != stop / CHECKPOINT_RECORDS * CHECKPOINT_RECORDS) {
+                    fail(name + " resumed after " + resumed + " records");
+                }
+                if (Files.exists(checkpoint)) {
+                    fail(name + " left its checkpoint behind");
+                }
+                if (runner.getTotalTaxCents() != processor.getTotalTaxCents()) {
+                    fail(name + " totals " + runner.getTotalTaxCents() + " cents, expected "
+                            + processor.getTotalTaxCents());
+                }
+            } // End for loop over stopping records
+        } finally {
+            Files.deleteIfExists(checkpoint);
+            Files.deleteIfExists(out);
+            Files.deleteIfExists(in);
+            Files.deleteIfExists(directory);
+        }
+        report("checkpointed resume against an uninterrupted run");
+    } // End checkResume method
+
+    // Checks a results file and its record count against the uninterrupted run's
+    private static void checkOutput(String name, Path out, byte[] expected, long records) throws IOException {
+        byte[] actual = Files.readAllBytes(out);
+        if (!Arrays.equals(actual, expected)) {
+            fail(name + " wrote " + actual.length + " bytes differing from the " + expected.length
+                    + " expected, first at byte " + Arrays.mismatch(actual, expected));
+        }
+        if (records != BATCH_RECORDS) {
+            fail(name + " reported " + records + " records, expected " + BATCH_RECORDS);
+        }
+    } // End checkOutput method
+
+    // Builds a CSV file with a header and BATCH_RECORDS random records
+    private static byte[] batchInput(Random random) {
+        StringBuilder csv = new StringBuilder("id,filing_status,gross_income\n");
+        for (int i = 0; i < BATCH_RECORDS; i++) {
+            long income = randomIncome(random);
+            csv.append(100_000 + i).append(',').append(1 + random.nextInt(5)).append(',')
+                    .append(income / 100).append('.').append(String.format("%02d", income % 100)).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.US_ASCII);
+    } // End batchInput method
+
+    /*
+     * Returns a run of partial records longer than a whole results file, standing in for the
+     * output a killed run wrote after its last checkpoint. Being longer than anything a
+     * resumed run writes, it survives unless the resumed run truncates it.
+     */
+    private static byte[] strayBytes(int resultsLength) {
+        byte[] stray = new byte[resultsLength + 1];
+        byte[] record = "9999,1,12".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < stray.length; i++) {
+            stray[i] = record[i % record.length];
+        }
+        return stray;
+    } // End strayBytes method
+
+    // Returns the offset of the filing status of the given record, counting from 0, in the input
+    private static int statusOffset(byte[] input, int record) {
+        int line = 0;
+        int position = 0;
+        // Skip the header and the records before the one wanted
+        while (line <= record) {
+            if (input[position++] == '\n') {
+                line++;
+            }
+        }
+        while (input[position] != ',') {
+            position++;
+        }
+        return position + 1;
+    } // End statusOffset method
+
+    // Returns a random income in cents, mostly under $1,000,000 and sometimes far above
+    private static long randomIncome(Random random) {
+        return random.nextInt(10) == 0 ? random.nextLong(100_000_000_000L) : random.nextLong(100_000_000L);
+    } // End randomIncome method
+
+    // Records a failed check, printing it if few enough have failed so far
+    private static void fail(String message) {
+        if (++failures <= MAX_REPORTED) {
+            System.out.println("  FAIL " + message);
+        }
+    } // End fail method
+
+    // Prints that a group of checks has finished, with the failures so far
+    private static void report(String group) {
+        System.out.printf("%-52s %s%n", group, failures == 0 ? "ok" : failures + " failure(s) so far");
+    } // End report method
+
+} // End RegressionCheck class
@@ -0,0 +1,139 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * The {@code TaxCalculatorBenchmark} class measures the time and allocation cost of every
+ * filing-status calculation path in {@link TaxTableCalculator}.
+ * <p>
+ * Each of {@code calculateSingle()}, {@code calculateHeadOfHousehold()},
+ * {@code calculateMarriedFilingSeparate()}, {@code calculateMarriedFilingJointlySurvivingSpouse()},
+ * {@code calculateEstatesTrusts()} and the full {@code getTaxRate()} (including its formatted
+ * output, which is sent to a discarding stream) is measured once for an income in the middle
+ * of every bracket of the matching schedule. Every measurement runs several warm-up
+ * iterations before its timed iterations, and reports the mean time in nanoseconds per
+ * operation and the bytes allocated per operation.
+ * <p>
+ * Usage: {@code java TaxCalculatorBenchmark [iterations] [operationsPerIteration]}
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class TaxCalculatorBenchmark {
+
+    // The number of untimed iterations run before measuring
+    private static final int WARMUP_ITERATIONS = 5;
+
+    // The names of the calculation methods, indexed by filing status (index 0 is unused)
+    private static final String[] METHOD_NAMES = {
+            null, "calculateSingle", "calculateHeadOfHousehold", "calculateMarriedFilingSeparate",
+            "calculateMarriedFilingJointlySurvivingSpouse", "calculateEstatesTrusts"
+    };
+
+    // Accumulates every result so the JIT cannot discard the benchmarked work
+    private static volatile double sink;
+
+    // A single benchmarked operation
+    private interface Operation {
+        double run(TaxTableCalculator calculator);
+    } // End Operation interface
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        PrintStream console = System.out;
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+
+        console.printf("%-46s %12s %10s %12s %12s%n", "Benchmark", "(income)", "Cnt", "ns/op", "B/op");
+        for (int status = 1; status <= 5; status++) {
+            TaxSchedule schedule = TaxTableCalculator.schedule(status);
+            for (int bracket = 0; bracket < schedule.bracketCount(); bracket++) {
+                double income = bracketIncome(schedule, bracket);
+                TaxTableCalculator calculator = new TaxTableCalculator(status, income);
+
+                Operation calculate = calculateOperation(status);
+                report(console, METHOD_NAMES[status], income, iterations,
+                        measure(calculator, calculate, iterations, operations));
+
+                // getTaxRate() prints its result, so its output is discarded while measuring
+                System.setOut(discard);
+                double[] getTaxRate;
+                try {
+                    getTaxRate = measure(calculator, c -> c.getTaxRate().tax(),
+                            iterations, Math.max(1, operations / 10));
+                } finally {
+                    System.setOut(console);
+                }
+                report(console, "getTaxRate[" + status + "]", income, iterations, getTaxRate);
+            } // End for loop over brackets
+        } // End for loop over filing statuses
+    } // End main method
+
+    // Returns the calculation method benchmarked for the given filing status
+    private static Operation calculateOperation(int filingStatus) {
+        return switch (filingStatus) {
+            case 1 -> TaxTableCalculator::calculateSingle;
+            case 2 -> TaxTableCalculator::calculateHeadOfHousehold;
+            case 3 -> TaxTableCalculator::calculateMarriedFilingSeparate;
+            case 4 -> TaxTableCalculator::calculateMarriedFilingJointlySurvivingSpouse;
+            default -> TaxTableCalculator::calculateEstatesTrusts;
+        };
+    } // End calculateOperation method
+
+    // Returns an income in the middle of the given bracket, or 50% above the start of the top bracket
+    private static double bracketIncome(TaxSchedule schedule, int bracket) {
+        double lower = schedule.lowerBound(bracket);
+        if (bracket == schedule.bracketCount() - 1) {
+            return Math.floor(lower * 1.5);
+        }
+        return Math.floor((lower + schedule.lowerBound(bracket + 1)) / 2);
+    } // End bracketIncome method
+
+    /*
+     * Runs the warm-up and measured iterations for one operation and returns the mean
+     * nanoseconds per operation and the mean bytes allocated per operation.
+     */
+    private static double[] measure(TaxTableCalculator calculator, Operation operation,
+                                    int iterations, int operations) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(calculator, operation, operations);
+        }
+
+        long elapsed = 0;
+        long allocated = 0;
+        for (int i = 0; i < iterations; i++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            runIteration(calculator, operation, operations);
+            elapsed += System.nanoTime() - start;
+            allocated += allocatedBytes() - bytesBefore;
+        }
+
+        double totalOperations = (double) iterations * operations;
+        return new double[]{elapsed / totalOperations, allocated / totalOperations};
+    } // End measure method
+
+    // Runs the operation the given number of times
+    private static void runIteration(TaxTableCalculator calculator, Operation operation, int operations) {
+        double total = 0;
+        for (int i = 0; i < operations; i++) {
+            total += operation.run(calculator);
+        }
+        sink += total;
+    } // End runIteration method
+
+    // Returns the bytes allocated so far by the current thread, or 0 if the JVM cannot report it
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    } // End allocatedBytes method
+
+    // Prints one result row
+    private static void report(PrintStream out, String name, double income, int iterations, double[] result) {
+        out.printf("%-46s %12.0f %10d %12.2f %12.2f%n", name, income, iterations, result[0], result[1]);
+    } // End report method
+
+} // End TaxCalculatorBenchmark class
@@ -0,0 +1,155 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * The {@code AsciiLineReader} class splits a stream of ASCII text into lines without decoding
+ * it to characters or creating a {@link String} per line.
+ * <p>
+ * After each successful call to {@link #next()}, the current line occupies
+ * {@code [lineStart(), lineEnd())} of {@link #buffer()}, without its line terminator. The
+ * bytes of a line remain valid only until the next call. The reader also tracks how many bytes
+ * of the stream have been consumed, which lets callers record the exact offset of each line.
+ * <p>
+ * A reader must not be shared between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class AsciiLineReader {
+
+    // The buffer size used when none is given
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    // The stream lines are read from
+    private final InputStream in;
+
+    // Holds bytes read from the stream; grows if a single line does not fit
+    private byte[] buffer;
+
+    // The number of valid bytes in the buffer
+    private int filled;
+
+    // The index of the first byte not yet returned as part of a line
+    private int position;
+
+    // The index scanning for the next line terminator resumes from
+    private int scan;
+
+    // The stream offset of the first byte in the buffer
+    private long bufferOffset;
+
+    // The bounds of the current line in the buffer
+    private int lineStart;
+    private int lineEnd;
+
+    // Whether the stream has been read to its end
+    private boolean endOfStream;
+
+    /**
+     * Constructs an AsciiLineReader with the default buffer size.
+     *
+     * @param in the stream lines are read from
+     */
+    public AsciiLineReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    } // End AsciiLineReader constructor
+
+    /**
+     * Constructs an AsciiLineReader with the given initial buffer size.
+     *
+     * @param in the stream lines are read from
+     * @param bufferSize the initial buffer size in bytes
+     */
+    public AsciiLineReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    } // End AsciiLineReader constructor
+
+    /**
+     * Advances to the next line. Lines end at {@code \n}; a {@code \r} before it is dropped,
+     * and a final line without a terminator is still returned.
+     *
+     * @return {@code true} if a line was read, or {@code false} at the end of the stream
+     * @throws IOException if reading fails
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            for (int i = scan; i < filled; i++) {
+                if (buffer[i] == '\n') {
+                    setLine(position, i);
+                    position = scan = i + 1;
+                    return true;
+                }
+            }
+            scan = filled;
+
+            if (endOfStream) {
+                if (position < filled) {
+                    setLine(position, filled);
+                    position = scan = filled;
+                    return true;
+                }
+                return false;
+            }
+
+            // Move the unfinished line to the front, growing the buffer if it fills it
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, filled - position);
+                bufferOffset += position;
+                filled -= position;
+                scan -= position;
+                position = 0;
+            }
+            if (filled == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                endOfStream = true;
+            } else {
+                filled += read;
+            }
+        } // End while loop
+    } // End next method
+
+    /**
+     * @return the buffer holding the current line
+     */
+    public byte[] buffer() {
+        return buffer;
+    } // End buffer method
+
+    /**
+     * @return the index of the first byte of the current line
+     */
+    public int lineStart() {
+        return lineStart;
+    } // End lineStart method
+
+    /**
+     * @return the index just past the last byte of the current line, excluding its terminator
+     */
+    public int lineEnd() {
+        return lineEnd;
+    } // End lineEnd method
+
+    /**
+     * @return the number of bytes of the stream consumed so far, up to and including the
+     *         terminator of the current line
+     */
+    public long bytesConsumed() {
+        return bufferOffset + position;
+    } // End bytesConsumed method
+
+    // Records the bounds of the current line, dropping a trailing carriage return
+    private void setLine(int start, int end) {
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        lineStart = start;
+        lineEnd = end;
+    } // End setLine method
+
+} // End AsciiLineReader class
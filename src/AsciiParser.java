@@ -0,0 +1,117 @@
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code AsciiParser} class parses numbers directly out of ASCII bytes, such as a line of
+ * a CSV file held in a read buffer, without decoding them to a {@link String} first.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class AsciiParser {
+
+    private AsciiParser() {
+    } // End AsciiParser constructor
+
+    /**
+     * Parses a whole number from the bytes in {@code [from, to)}.
+     *
+     * @param buffer the bytes to parse
+     * @param from the index of the first byte, inclusive
+     * @param to the index of the last byte, exclusive
+     * @return the parsed number
+     * @throws NumberFormatException if the bytes are empty or are not an optionally signed
+     *                               run of digits
+     */
+    public static int parseInt(byte[] buffer, int from, int to) {
+        long value = parseLong(buffer, from, to);
+        if (value != (int) value) {
+            throw new NumberFormatException("Number out of range: " + text(buffer, from, to));
+        }
+        return (int) value;
+    } // End parseInt method
+
+    /**
+     * Parses a whole number from the bytes in {@code [from, to)}.
+     *
+     * @param buffer the bytes to parse
+     * @param from the index of the first byte, inclusive
+     * @param to the index of the last byte, exclusive
+     * @return the parsed number
+     * @throws NumberFormatException if the bytes are empty or are not an optionally signed
+     *                               run of digits
+     */
+    public static long parseLong(byte[] buffer, int from, int to) {
+        boolean negative = from < to && buffer[from] == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to || to - i > 18) {
+            throw new NumberFormatException("Not a number: " + text(buffer, from, to));
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not a number: " + text(buffer, from, to));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    } // End parseLong method
+
+    /**
+     * Parses an amount of money, such as {@code 52000}, {@code 52000.5} or {@code -1234.567},
+     * from the bytes in {@code [from, to)} into whole cents. Digits beyond the second decimal
+     * place are rounded half-up.
+     *
+     * @param buffer the bytes to parse
+     * @param from the index of the first byte, inclusive
+     * @param to the index of the last byte, exclusive
+     * @return the parsed amount in cents
+     * @throws NumberFormatException if the bytes are not a decimal number
+     */
+    public static long parseCents(byte[] buffer, int from, int to) {
+        boolean negative = from < to && buffer[from] == '-';
+        int i = negative ? from + 1 : from;
+        long dollars = 0;
+        int integerDigits = 0;
+        for (; i < to && buffer[i] != '.'; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9 || ++integerDigits > 16) {
+                throw new NumberFormatException("Not an amount: " + text(buffer, from, to));
+            }
+            dollars = dollars * 10 + digit;
+        }
+
+        long cents = 0;
+        int fractionDigits = 0;
+        if (i < to) {
+            // Skip the decimal point, then read up to two digits and round on the third
+            for (i++; i < to; i++) {
+                int digit = buffer[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("Not an amount: " + text(buffer, from, to));
+                }
+                if (fractionDigits < 2) {
+                    cents = cents * 10 + digit;
+                } else if (fractionDigits == 2 && digit >= 5) {
+                    cents++;
+                }
+                fractionDigits++;
+            }
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            throw new NumberFormatException("Not an amount: " + text(buffer, from, to));
+        }
+        if (fractionDigits == 1) {
+            cents *= 10;
+        }
+
+        long total = dollars * 100 + cents;
+        return negative ? -total : total;
+    } // End parseCents method
+
+    // Decodes the bytes in [from, to) for use in an error message
+    private static String text(byte[] buffer, int from, int to) {
+        return "\"" + new String(buffer, from, to - from, StandardCharsets.US_ASCII) + "\"";
+    } // End text method
+
+} // End AsciiParser class
@@ -0,0 +1,94 @@
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code BatchFiles} class opens the input and output files of the batch modes, reading
+ * and writing gzip-compressed files transparently as streams so they never have to be
+ * decompressed to disk first.
+ * <p>
+ * A compressed input is recognized by the gzip magic bytes at its start, whatever its name,
+ * and is decompressed on a background thread by a {@link ReadAheadInputStream}, which keeps
+ * decompressed data ready ahead of the parsing and calculation. An output whose name ends in
+ * {@code .gz} is gzip-compressed as it is written, at the fastest compression level. Only
+ * codecs built into the JDK are used.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class BatchFiles {
+
+    // The suffix that marks an output file to be compressed
+    public static final String GZIP_SUFFIX = ".gz";
+
+    // The buffer size of the compressing and decompressing streams
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BatchFiles() {
+    } // End BatchFiles constructor
+
+    /**
+     * Opens a batch input file, decompressing it on a background thread if it is gzip-compressed.
+     *
+     * @param path the file to open
+     * @return a stream of the file's uncompressed contents
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream openInput(Path path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        try {
+            if (!isGzip(in)) {
+                return in;
+            }
+            return new ReadAheadInputStream(new GZIPInputStream(in, BUFFER_SIZE));
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    } // End openInput method
+
+    /**
+     * Opens a batch output file, compressing what is written to it if its name ends in
+     * {@value #GZIP_SUFFIX}. The file is replaced if it exists.
+     *
+     * @param path the file to open
+     * @return a stream that writes to the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static OutputStream openOutput(Path path) throws IOException {
+        OutputStream out = Files.newOutputStream(path);
+        if (!isCompressedName(path)) {
+            return out;
+        }
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                // Batch results are written once and read rarely, so favor speed over ratio
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    } // End openOutput method
+
+    /**
+     * @param path a file path
+     * @return whether the file's name marks it as gzip-compressed
+     */
+    public static boolean isCompressedName(Path path) {
+        return path.getFileName().toString().endsWith(GZIP_SUFFIX);
+    } // End isCompressedName method
+
+    // Peeks at the start of a stream, which must support mark, for the gzip magic bytes
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == (GZIPInputStream.GZIP_MAGIC & 0xFF) && second == (GZIPInputStream.GZIP_MAGIC >>> 8);
+    } // End isGzip method
+
+} // End BatchFiles class
@@ -0,0 +1,200 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code BinaryBatchProcessor} class calculates the tax for every taxpayer in a file of
+ * fixed-width binary records, reading the records straight out of memory-mapped segments of
+ * the file.
+ * <p>
+ * Each input record is {@value #RECORD_SIZE} bytes: the filing status (1–5) in one byte
+ * followed by the gross income in cents as a little-endian {@code long}. The results file
+ * holds the tax in cents of each record, in the same order, as a little-endian {@code long}.
+ * <p>
+ * Records are decoded with absolute reads from the mapping and evaluated in exact cents, so
+ * no objects are created per record and no text is parsed. A processor built with a
+ * {@link ParallelTaxCalculator} decodes each segment into arrays and evaluates them across
+ * its fork/join pool instead, writing the same results. An instance holds no state between
+ * runs and may be shared between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class BinaryBatchProcessor {
+
+    // The size of one input record in bytes: a status byte and an eight-byte income
+    public static final int RECORD_SIZE = 9;
+
+    // The size of one output record in bytes
+    public static final int RESULT_SIZE = 8;
+
+    // The byte order of every multi-byte value in the input and results files
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // The number of records mapped at a time when none is given (about 256 MB of input)
+    public static final int DEFAULT_SEGMENT_RECORDS = 1 << 25;
+
+    // The number of records mapped at a time by a parallel run when none is given (about 36 MB of input)
+    public static final int DEFAULT_PARALLEL_SEGMENT_RECORDS = 1 << 22;
+
+    // The number of records mapped at a time
+    private final int segmentRecords;
+
+    // The calculator each segment is split across, or null to evaluate on the calling thread
+    private final ParallelTaxCalculator calculator;
+
+    /**
+     * Constructs a BinaryBatchProcessor that maps the default number of records at a time.
+     */
+    public BinaryBatchProcessor() {
+        this(DEFAULT_SEGMENT_RECORDS);
+    } // End BinaryBatchProcessor constructor
+
+    /**
+     * Constructs a BinaryBatchProcessor that maps the given number of records at a time.
+     *
+     * @param segmentRecords the number of records mapped at a time
+     */
+    public BinaryBatchProcessor(int segmentRecords) {
+        this(segmentRecords, null);
+    } // End BinaryBatchProcessor constructor
+
+    /**
+     * Constructs a BinaryBatchProcessor that splits each segment of the default parallel size
+     * across a parallel calculator.
+     *
+     * @param calculator the calculator each segment is split across
+     */
+    public BinaryBatchProcessor(ParallelTaxCalculator calculator) {
+        this(DEFAULT_PARALLEL_SEGMENT_RECORDS, calculator);
+    } // End BinaryBatchProcessor constructor
+
+    /**
+     * Constructs a BinaryBatchProcessor that maps the given number of records at a time and
+     * splits each segment across a parallel calculator.
+     *
+     * @param segmentRecords the number of records mapped at a time
+     * @param calculator the calculator each segment is split across, or null to evaluate every
+     *                   record on the calling thread
+     */
+    public BinaryBatchProcessor(int segmentRecords, ParallelTaxCalculator calculator) {
+        if (segmentRecords < 1 || (long) segmentRecords * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size out of range: " + segmentRecords);
+        }
+        this.segmentRecords = segmentRecords;
+        this.calculator = calculator;
+    } // End BinaryBatchProcessor constructor
+
+    /**
+     * Calculates the tax for every record in a binary input file and writes the results file.
+     *
+     * @param input the file of taxpayer records
+     * @param output the file that receives the tax of each record; replaced if it exists
+     * @return the number of records processed
+     * @throws IOException if the input is not a whole number of records, or reading or
+     *                     writing fails
+     * @throws IllegalArgumentException if a record has an unknown filing status
+     */
+    public long process(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            if (size % RECORD_SIZE != 0) {
+                throw new IOException(input + " is " + size + " bytes, which is not a whole number of "
+                        + RECORD_SIZE + "-byte records");
+            }
+
+            long records = size / RECORD_SIZE;
+            SegmentArrays arrays = null;
+            for (long first = 0; first < records; first += segmentRecords) {
+                int count = (int) Math.min(segmentRecords, records - first);
+                MappedByteBuffer source = in.map(FileChannel.MapMode.READ_ONLY,
+                        first * RECORD_SIZE, (long) count * RECORD_SIZE);
+                MappedByteBuffer target = out.map(FileChannel.MapMode.READ_WRITE,
+                        first * RESULT_SIZE, (long) count * RESULT_SIZE);
+                source.order(BYTE_ORDER);
+                target.order(BYTE_ORDER);
+                if (calculator == null) {
+                    processSegment(source, target, count, first);
+                } else {
+                    // Every segment but the last is full, so the arrays are sized at most twice
+                    if (arrays == null || arrays.statuses.length != count) {
+                        arrays = new SegmentArrays(count);
+                    }
+                    processSegmentInParallel(source, target, arrays, first);
+                }
+            } // End for loop over segments
+            return records;
+        }
+    } // End process method
+
+    /**
+     * Writes one taxpayer record into a buffer at its current position, in the input format
+     * read by {@link #process}. The buffer's byte order must be {@link #BYTE_ORDER}.
+     *
+     * @param buffer the buffer to write to
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     */
+    public static void putRecord(ByteBuffer buffer, int filingStatus, long incomeCents) {
+        buffer.put((byte) filingStatus).putLong(incomeCents);
+    } // End putRecord method
+
+    // Evaluates every record of one mapped segment into the matching results segment
+    private static void processSegment(ByteBuffer source, ByteBuffer target, int count, long firstRecord) {
+        for (int i = 0; i < count; i++) {
+            int offset = i * RECORD_SIZE;
+            int status = source.get(offset);
+            long incomeCents = source.getLong(offset + 1);
+            target.putLong(i * RESULT_SIZE, schedule(status, firstRecord + i).taxCents(incomeCents));
+        }
+    } // End processSegment method
+
+    /*
+     * Decodes one mapped segment into the arrays, evaluates them across the parallel
+     * calculator and copies the results into the matching results segment.
+     */
+    private void processSegmentInParallel(ByteBuffer source, ByteBuffer target, SegmentArrays arrays,
+                                          long firstRecord) {
+        int count = arrays.statuses.length;
+        for (int i = 0; i < count; i++) {
+            int offset = i * RECORD_SIZE;
+            arrays.statuses[i] = source.get(offset);
+            arrays.incomeCents[i] = source.getLong(offset + 1);
+            // Checked here so a bad record is reported by its number in the whole file
+            schedule(arrays.statuses[i], firstRecord + i);
+        }
+        calculator.calculateCents(arrays.statuses, arrays.incomeCents, arrays.taxCents);
+        target.asLongBuffer().put(arrays.taxCents);
+    } // End processSegmentInParallel method
+
+    // Returns the schedule of a record's filing status, naming the record if the status is unknown
+    private static TaxSchedule schedule(int filingStatus, long record) {
+        try {
+            return TaxTableCalculator.schedule(filingStatus);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Record " + record + ": " + e.getMessage(), e);
+        }
+    } // End schedule method
+
+    // The decoded records and results of one segment evaluated in parallel
+    private static final class SegmentArrays {
+
+        private final int[] statuses;
+        private final long[] incomeCents;
+        private final long[] taxCents;
+
+        SegmentArrays(int count) {
+            statuses = new int[count];
+            incomeCents = new long[count];
+            taxCents = new long[count];
+        } // End SegmentArrays constructor
+
+    } // End SegmentArrays class
+
+} // End BinaryBatchProcessor class
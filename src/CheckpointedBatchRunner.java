@@ -0,0 +1,247 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The {@code CheckpointedBatchRunner} class runs a CSV batch the same way as
+ * {@link CsvBatchProcessor}, but records its progress in a checkpoint file as it goes, so that
+ * a run that is stopped part way through can be restarted and carry on from its last
+ * checkpoint instead of from the beginning.
+ * <p>
+ * Every {@code checkpointRecords} records the runner writes out its buffered results, forces
+ * them to disk, and then replaces the checkpoint file atomically with the input offset, the
+ * output offset, the line number and the running record count and total tax at that point.
+ * When a run starts and finds a checkpoint, it truncates the output back to the checkpointed
+ * offset, discarding anything written after the checkpoint, and continues reading the input
+ * from the checkpointed offset. The finished output is therefore byte-for-byte the same as an
+ * uninterrupted run's, with no record missing or repeated. The checkpoint file is deleted once
+ * the run completes.
+ * <p>
+ * Resuming needs to seek in both files, so neither may be gzip-compressed, and the input must
+ * not change between runs; a checkpoint taken against an input of a different size is
+ * rejected. An instance must not be shared between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class CheckpointedBatchRunner {
+
+    // The number of records between checkpoints when none is given
+    public static final int DEFAULT_CHECKPOINT_RECORDS = 1_000_000;
+
+    // The suffix added to the output file's name to name its checkpoint file
+    public static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    // The progress of a run at a checkpoint
+    private record Checkpoint(long inputSize, long inputOffset, long outputOffset, long lineNumber,
+                              long recordCount, long totalTaxCents) {
+    } // End Checkpoint record
+
+    // The number of records between checkpoints
+    private final int checkpointRecords;
+
+    // The number of records the most recent run found already done in its checkpoint
+    private long resumedRecords;
+
+    // The number of checkpoints the most recent run wrote
+    private int checkpointCount;
+
+    // The total tax, in cents, of every record of the most recent run, including resumed ones
+    private long totalTaxCents;
+
+    /**
+     * Constructs a CheckpointedBatchRunner that checkpoints every
+     * {@value #DEFAULT_CHECKPOINT_RECORDS} records.
+     */
+    public CheckpointedBatchRunner() {
+        this(DEFAULT_CHECKPOINT_RECORDS);
+    } // End CheckpointedBatchRunner constructor
+
+    /**
+     * Constructs a CheckpointedBatchRunner.
+     *
+     * @param checkpointRecords the number of records between checkpoints
+     */
+    public CheckpointedBatchRunner(int checkpointRecords) {
+        if (checkpointRecords < 1) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive");
+        }
+        this.checkpointRecords = checkpointRecords;
+    } // End CheckpointedBatchRunner constructor
+
+    /**
+     * Processes a CSV file into a results file, checkpointing to the output's name with
+     * {@value #CHECKPOINT_SUFFIX} appended and resuming from that checkpoint if it exists.
+     *
+     * @param input the taxpayer records
+     * @param output the file that receives the results
+     * @return the number of records in the results file
+     * @throws IOException if reading or writing fails, or the checkpoint does not match the files
+     * @throws IllegalArgumentException if a record is malformed or has an unknown filing status
+     */
+    public long process(Path input, Path output) throws IOException {
+        return process(input, output, checkpointFile(output));
+    } // End process method
+
+    /**
+     * Processes a CSV file into a results file, resuming from the checkpoint file if it exists.
+     *
+     * @param input the taxpayer records
+     * @param output the file that receives the results
+     * @param checkpoint the file the run's progress is recorded in
+     * @return the number of records in the results file
+     * @throws IOException if reading or writing fails, or the checkpoint does not match the files
+     * @throws IllegalArgumentException if a record is malformed or has an unknown filing status
+     */
+    public long process(Path input, Path output, Path checkpoint) throws IOException {
+        if (BatchFiles.isCompressedName(output)) {
+            throw new IOException("A checkpointed run cannot write a compressed file: " + output);
+        }
+        resumedRecords = 0;
+        checkpointCount = 0;
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (isGzip(in)) {
+                throw new IOException("A checkpointed run cannot read a compressed file: " + input);
+            }
+            long inputSize = in.size();
+            CsvBatchProcessor processor = new CsvBatchProcessor();
+            OutputStream results = Channels.newOutputStream(out);
+
+            long inputStart;
+            if (Files.exists(checkpoint)) {
+                Checkpoint from = readCheckpoint(checkpoint);
+                if (from.inputSize() != inputSize || from.inputOffset() > inputSize
+                        || from.outputOffset() > out.size()) {
+                    throw new IOException("The checkpoint " + checkpoint + " does not match " + input
+                            + " and " + output);
+                }
+                out.truncate(from.outputOffset());
+                out.position(from.outputOffset());
+                inputStart = from.inputOffset();
+                processor.begin(from.lineNumber(), from.recordCount(), from.totalTaxCents());
+                resumedRecords = from.recordCount();
+            } else {
+                out.truncate(0);
+                results.write(CsvBatchProcessor.OUTPUT_HEADER);
+                inputStart = 0;
+                processor.begin(0, 0, 0);
+            }
+            in.position(inputStart);
+
+            AsciiLineReader lines = new AsciiLineReader(Channels.newInputStream(in));
+            long nextCheckpoint = processor.getRecordCount() + checkpointRecords;
+            while (lines.next()) {
+                processor.processLine(lines.buffer(), lines.lineStart(), lines.lineEnd(), results);
+                if (processor.getRecordCount() >= nextCheckpoint) {
+                    processor.flush(results);
+                    out.force(false);
+                    writeCheckpoint(checkpoint, new Checkpoint(inputSize, inputStart + lines.bytesConsumed(),
+                            out.position(), processor.getLineNumber(), processor.getRecordCount(),
+                            processor.getTotalTaxCents()));
+                    checkpointCount++;
+                    nextCheckpoint += checkpointRecords;
+                }
+            } // End while loop
+            processor.flush(results);
+            out.force(false);
+
+            totalTaxCents = processor.getTotalTaxCents();
+            Files.deleteIfExists(checkpoint);
+            return processor.getRecordCount();
+        }
+    } // End process method
+
+    /**
+     * @return the number of records the most recent run found already processed in its
+     *         checkpoint, or 0 if it started from the beginning
+     */
+    public long getResumedRecords() {
+        return resumedRecords;
+    } // End getResumedRecords method
+
+    /**
+     * @return the number of checkpoints the most recent run wrote
+     */
+    public int getCheckpointCount() {
+        return checkpointCount;
+    } // End getCheckpointCount method
+
+    /**
+     * @return the total tax, in cents, of every record in the results of the most recent run
+     */
+    public long getTotalTaxCents() {
+        return totalTaxCents;
+    } // End getTotalTaxCents method
+
+    /**
+     * @param output a results file
+     * @return the checkpoint file used for that results file when none is given
+     */
+    public static Path checkpointFile(Path output) {
+        return output.resolveSibling(output.getFileName() + CHECKPOINT_SUFFIX);
+    } // End checkpointFile method
+
+    // Checks the start of a file for the gzip magic bytes, leaving its position unchanged
+    private static boolean isGzip(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        while (magic.hasRemaining() && channel.read(magic, magic.position()) > 0) {
+            // Keep reading until both bytes are in or the file ends
+        }
+        return magic.position() == 2 && (magic.get(0) & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF)
+                && (magic.get(1) & 0xFF) == GZIPInputStream.GZIP_MAGIC >>> 8;
+    } // End isGzip method
+
+    // Reads a checkpoint file
+    private static Checkpoint readCheckpoint(Path path) throws IOException {
+        Properties fields = new Properties();
+        fields.load(new StringReader(Files.readString(path, StandardCharsets.US_ASCII)));
+        try {
+            return new Checkpoint(
+                    Long.parseLong(fields.getProperty("inputSize")),
+                    Long.parseLong(fields.getProperty("inputOffset")),
+                    Long.parseLong(fields.getProperty("outputOffset")),
+                    Long.parseLong(fields.getProperty("lineNumber")),
+                    Long.parseLong(fields.getProperty("recordCount")),
+                    Long.parseLong(fields.getProperty("totalTaxCents")));
+        } catch (NumberFormatException e) {
+            throw new IOException("The checkpoint " + path + " is damaged", e);
+        }
+    } // End readCheckpoint method
+
+    /*
+     * Replaces a checkpoint file atomically: the new contents are written and forced to a
+     * temporary file beside it, which is then moved over it, so a crash leaves either the old
+     * checkpoint or the new one and never a partial file.
+     */
+    private static void writeCheckpoint(Path path, Checkpoint checkpoint) throws IOException {
+        String contents = "inputSize=" + checkpoint.inputSize() + '\n'
+                + "inputOffset=" + checkpoint.inputOffset() + '\n'
+                + "outputOffset=" + checkpoint.outputOffset() + '\n'
+                + "lineNumber=" + checkpoint.lineNumber() + '\n'
+                + "recordCount=" + checkpoint.recordCount() + '\n'
+                + "totalTaxCents=" + checkpoint.totalTaxCents() + '\n';
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents.getBytes(StandardCharsets.US_ASCII));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } // End writeCheckpoint method
+
+} // End CheckpointedBatchRunner class
@@ -0,0 +1,219 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code ColumnarResultWriter} class writes batch results as a compact binary file with
+ * one contiguous column per field, which analytics tools can load without parsing any text.
+ * <p>
+ * The file starts with a {@value #HEADER_SIZE}-byte header, followed by the columns in order.
+ * Every multi-byte value is little-endian.
+ * <pre>
+ *     offset  size  header field
+ *          0     8  magic "TAXCOLS1"
+ *          8     4  format version (1)
+ *         12     4  number of columns (4)
+ *         16     8  record count n
+ *         24     8  offset of the id column         (n longs)
+ *         32     8  offset of the filing status column (n bytes)
+ *         40     8  offset of the tax column        (n longs, in cents)
+ *         48     8  offset of the marginal rate column (n bytes, whole percent)
+ *         56     8  reserved (0)
+ * </pre>
+ * Because the record count is not known until the last record has been written, each column
+ * is first streamed to its own temporary file through a large direct buffer. Committing the
+ * writer once every record has been written writes the header and appends the columns to the
+ * output file with {@link FileChannel#transferTo}, then deletes the temporary files. Closing a
+ * writer that was never committed, for example because the run failed part way through,
+ * deletes the temporary files and leaves the output file untouched, so a partial run never
+ * publishes a file that looks complete.
+ * <p>
+ * A writer must not be shared between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class ColumnarResultWriter implements Closeable {
+
+    // The size of the file header in bytes
+    public static final int HEADER_SIZE = 64;
+
+    // The bytes every columnar results file starts with
+    public static final byte[] MAGIC = {'T', 'A', 'X', 'C', 'O', 'L', 'S', '1'};
+
+    // The format version written in the header
+    public static final int VERSION = 1;
+
+    // The byte order of every multi-byte value in the file
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // The size of the direct buffer in front of each column
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    // The width in bytes of each column's values, in file order
+    private static final int[] COLUMN_WIDTHS = {8, 1, 8, 1};
+
+    // The file the results are written to
+    private final Path output;
+
+    // The temporary file, channel and buffer of each column, in file order
+    private final Path[] columnFiles = new Path[COLUMN_WIDTHS.length];
+    private final FileChannel[] columns = new FileChannel[COLUMN_WIDTHS.length];
+    private final ByteBuffer[] buffers = new ByteBuffer[COLUMN_WIDTHS.length];
+
+    // The number of records written so far
+    private long recordCount;
+
+    // Set once the writer has been committed or closed
+    private boolean closed;
+
+    /**
+     * Constructs a ColumnarResultWriter. The output file is replaced when the writer is committed.
+     *
+     * @param output the file the results are written to
+     * @throws IOException if the temporary column files cannot be created
+     */
+    public ColumnarResultWriter(Path output) throws IOException {
+        this.output = output;
+        Path directory = output.toAbsolutePath().getParent();
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                columnFiles[i] = Files.createTempFile(directory, output.getFileName() + ".col" + i, ".tmp");
+                columns[i] = FileChannel.open(columnFiles[i], StandardOpenOption.WRITE, StandardOpenOption.READ);
+                buffers[i] = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+            }
+        } catch (IOException e) {
+            discard();
+            throw e;
+        }
+    } // End ColumnarResultWriter constructor
+
+    /**
+     * Appends one result.
+     *
+     * @param id the taxpayer's id
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param taxCents the calculated tax in cents
+     * @param marginalRatePercent the rate of the taxpayer's top bracket as a whole percentage
+     * @throws IOException if a column cannot be written
+     */
+    public void write(long id, int filingStatus, long taxCents, int marginalRatePercent) throws IOException {
+        if (closed) {
+            throw new IOException("The writer has been closed");
+        }
+        room(0).putLong(id);
+        room(1).put((byte) filingStatus);
+        room(2).putLong(taxCents);
+        room(3).put((byte) marginalRatePercent);
+        recordCount++;
+    } // End write method
+
+    /**
+     * @return the number of records written so far
+     */
+    public long getRecordCount() {
+        return recordCount;
+    } // End getRecordCount method
+
+    /**
+     * Writes the header and the columns to the output file and deletes the temporary files.
+     * No more records can be written afterwards.
+     *
+     * @throws IOException if the writer has already been committed or closed, or the output
+     *                     file cannot be written
+     */
+    public void commit() throws IOException {
+        if (closed) {
+            throw new IOException("The writer has been closed");
+        }
+        closed = true;
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+            header.put(MAGIC).putInt(VERSION).putInt(COLUMN_WIDTHS.length).putLong(recordCount);
+            long offset = HEADER_SIZE;
+            for (int width : COLUMN_WIDTHS) {
+                header.putLong(offset);
+                offset += width * recordCount;
+            }
+            header.putLong(0).flip();
+            writeFully(out, header);
+
+            for (int i = 0; i < columns.length; i++) {
+                drain(i);
+                long size = columns[i].size();
+                for (long position = 0; position < size; ) {
+                    position += columns[i].transferTo(position, size - position, out);
+                }
+            }
+        } finally {
+            discard();
+        }
+    } // End commit method
+
+    /**
+     * Deletes the temporary files. If the writer was not committed, its records are discarded
+     * and the output file is left as it was.
+     *
+     * @throws IOException if a temporary file cannot be closed or deleted
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        discard();
+    } // End close method
+
+    // Returns the buffer of a column, first writing it out if it is full
+    private ByteBuffer room(int column) throws IOException {
+        if (buffers[column].remaining() < COLUMN_WIDTHS[column]) {
+            drain(column);
+        }
+        return buffers[column];
+    } // End room method
+
+    // Writes everything in a column's buffer to its temporary file
+    private void drain(int column) throws IOException {
+        ByteBuffer buffer = buffers[column];
+        buffer.flip();
+        writeFully(columns[column], buffer);
+        buffer.clear();
+    } // End drain method
+
+    // Writes the whole of a buffer to a channel
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    } // End writeFully method
+
+    // Closes and deletes every temporary column file, continuing past failures
+    private void discard() throws IOException {
+        IOException failure = null;
+        for (int i = 0; i < columns.length; i++) {
+            try {
+                if (columns[i] != null) {
+                    columns[i].close();
+                }
+                if (columnFiles[i] != null) {
+                    Files.deleteIfExists(columnFiles[i]);
+                }
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    } // End discard method
+
+} // End ColumnarResultWriter class
@@ -0,0 +1,256 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code CsvBatchProcessor} class calculates the tax for every taxpayer in a CSV file and
+ * writes the results as another CSV file.
+ * <p>
+ * Each input line holds one taxpayer as {@code id,filing_status,gross_income}, for example
+ * {@code 10042,1,52000.00}. A first line that does not have a numeric filing status is treated
+ * as a header and skipped. Each output line repeats the id, filing status and gross income and
+ * adds the tax, calculated exactly in cents: {@code 10042,1,52000.00,6354.00}. Alternatively
+ * the results can be written as a binary {@link ColumnarResultWriter} file.
+ * <p>
+ * The input is streamed through an {@link AsciiLineReader} and parsed in place, so memory use
+ * stays constant no matter how large the file is. An instance reuses its output buffer from
+ * one run to the next and must not be shared between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class CsvBatchProcessor {
+
+    // The header line written at the top of every results file
+    public static final byte[] OUTPUT_HEADER =
+            "id,filing_status,gross_income,tax\n".getBytes(StandardCharsets.US_ASCII);
+
+    // The initial size of the input and output buffers
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // The most bytes a single output record needs beyond the length of its id
+    static final int MAX_RECORD_OVERHEAD = 64;
+
+    // Holds output bytes that have not yet been written
+    private byte[] output = new byte[BUFFER_SIZE];
+
+    // The number of bytes waiting in the output buffer
+    private int outputLength;
+
+    // The number of the input line currently being processed, counting from 1
+    private long lineNumber;
+
+    // The number of records written by the current run
+    private long recordCount;
+
+    // The total tax, in cents, of the records written by the current run
+    private long totalTaxCents;
+
+    // The fields of the most recently parsed line
+    int parsedIdEnd;
+    int parsedStatus;
+    long parsedIncomeCents;
+    TaxSchedule parsedSchedule;
+
+    /**
+     * Processes a whole CSV stream, writing the results header followed by one result line
+     * per input record. Neither stream is closed.
+     *
+     * @param in the taxpayer records
+     * @param out the stream that receives the results
+     * @return the number of records processed
+     * @throws IOException if reading or writing fails
+     * @throws IllegalArgumentException if a record is malformed or has an unknown filing status
+     */
+    public long process(InputStream in, OutputStream out) throws IOException {
+        begin(0, 0, 0);
+        out.write(OUTPUT_HEADER);
+
+        AsciiLineReader lines = new AsciiLineReader(in, BUFFER_SIZE);
+        while (lines.next()) {
+            processLine(lines.buffer(), lines.lineStart(), lines.lineEnd(), out);
+        }
+        flush(out);
+        return recordCount;
+    } // End process method
+
+    /**
+     * @return the number of records written by the most recent run
+     */
+    public long getRecordCount() {
+        return recordCount;
+    } // End getRecordCount method
+
+    /**
+     * @return the total tax, in cents, of the records written by the most recent run
+     */
+    public long getTotalTaxCents() {
+        return totalTaxCents;
+    } // End getTotalTaxCents method
+
+    /*
+     * Starts a run as if the given number of lines, records and total tax had already been
+     * processed, discarding any unwritten output. A run resumed part way through a file
+     * numbers its lines and accumulates its totals from where the earlier run stopped.
+     */
+    void begin(long linesProcessed, long recordsWritten, long taxCentsWritten) {
+        lineNumber = linesProcessed;
+        recordCount = recordsWritten;
+        totalTaxCents = taxCentsWritten;
+        outputLength = 0;
+    } // End begin method
+
+    /*
+     * Returns the number of input lines processed by the current run, including any the run
+     * was begun after.
+     */
+    long getLineNumber() {
+        return lineNumber;
+    } // End getLineNumber method
+
+    /*
+     * Parses the line held in [start, end) of the buffer, calculates its tax and appends the
+     * result to the output buffer. Blank lines are skipped.
+     */
+    void processLine(byte[] buffer, int start, int end, OutputStream out) throws IOException {
+        if (!parseLine(buffer, start, end)) {
+            return;
+        }
+        long taxCents = parsedSchedule.taxCents(parsedIncomeCents);
+
+        int idLength = parsedIdEnd - start;
+        ensureCapacity(idLength + MAX_RECORD_OVERHEAD, out);
+        System.arraycopy(buffer, start, output, outputLength, idLength);
+        int position = outputLength + idLength;
+        output[position++] = ',';
+        position = CurrencyFormatter.writeLong(output, position, parsedStatus);
+        output[position++] = ',';
+        position = CurrencyFormatter.writePlain(output, position, parsedIncomeCents);
+        output[position++] = ',';
+        position = CurrencyFormatter.writePlain(output, position, taxCents);
+        output[position++] = '\n';
+        outputLength = position;
+
+        recordCount++;
+        totalTaxCents += taxCents;
+    } // End processLine method
+
+    /**
+     * Processes a whole CSV stream into a columnar binary results file, which records each
+     * taxpayer's id, filing status, tax and marginal rate. Ids must be whole numbers. The
+     * input stream is not closed; the writer is left open for the caller to commit once the
+     * run has succeeded, and to close.
+     *
+     * @param in the taxpayer records
+     * @param out the writer that receives the results
+     * @return the number of records processed
+     * @throws IOException if reading or writing fails
+     * @throws IllegalArgumentException if a record is malformed, has a non-numeric id or has
+     *                                  an unknown filing status
+     */
+    public long process(InputStream in, ColumnarResultWriter out) throws IOException {
+        begin(0, 0, 0);
+
+        AsciiLineReader lines = new AsciiLineReader(in, BUFFER_SIZE);
+        while (lines.next()) {
+            byte[] buffer = lines.buffer();
+            int start = lines.lineStart();
+            int end = lines.lineEnd();
+            if (!parseLine(buffer, start, end)) {
+                continue;
+            }
+
+            long id;
+            try {
+                id = AsciiParser.parseLong(buffer, start, parsedIdEnd);
+            } catch (NumberFormatException e) {
+                throw malformed(buffer, start, end, "columnar output needs numeric ids");
+            }
+            int bracket = parsedSchedule.bracketIndexCents(parsedIncomeCents);
+            long taxCents = parsedSchedule.taxCents(parsedIncomeCents, bracket);
+            out.write(id, parsedStatus, taxCents, parsedSchedule.ratePercent(bracket));
+
+            recordCount++;
+            totalTaxCents += taxCents;
+        } // End while loop
+        return recordCount;
+    } // End process method
+
+    /*
+     * Splits and parses the line held in [start, end) of the buffer into the parsed* fields.
+     * Returns false for a blank line or a header, which carry no record.
+     */
+    boolean parseLine(byte[] buffer, int start, int end) {
+        lineNumber++;
+        if (end == start) {
+            return false;
+        }
+
+        int firstComma = indexOf(buffer, start, end, (byte) ',');
+        int secondComma = firstComma < 0 ? -1 : indexOf(buffer, firstComma + 1, end, (byte) ',');
+        if (secondComma < 0) {
+            throw malformed(buffer, start, end, "expected id,filing_status,gross_income");
+        }
+
+        try {
+            parsedStatus = AsciiParser.parseInt(buffer, firstComma + 1, secondComma);
+        } catch (NumberFormatException e) {
+            if (lineNumber == 1) {
+                return false; // A first line without a numeric filing status is a header
+            }
+            throw malformed(buffer, start, end, e.getMessage());
+        }
+        try {
+            parsedIncomeCents = AsciiParser.parseCents(buffer, secondComma + 1, end);
+        } catch (NumberFormatException e) {
+            throw malformed(buffer, start, end, e.getMessage());
+        }
+
+        try {
+            parsedSchedule = TaxTableCalculator.schedule(parsedStatus);
+        } catch (IllegalArgumentException e) {
+            throw malformed(buffer, start, end, e.getMessage());
+        }
+        parsedIdEnd = firstComma;
+        return true;
+    } // End parseLine method
+
+    /*
+     * Writes any buffered output to the stream.
+     */
+    void flush(OutputStream out) throws IOException {
+        out.write(output, 0, outputLength);
+        outputLength = 0;
+        out.flush();
+    } // End flush method
+
+    // Makes room for the given number of bytes in the output buffer, writing it out if needed
+    private void ensureCapacity(int needed, OutputStream out) throws IOException {
+        if (output.length - outputLength >= needed) {
+            return;
+        }
+        out.write(output, 0, outputLength);
+        outputLength = 0;
+        if (output.length < needed) {
+            output = new byte[needed];
+        }
+    } // End ensureCapacity method
+
+    // Returns the index of the first occurrence of a byte in [from, to), or -1 if there is none
+    private static int indexOf(byte[] buffer, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    } // End indexOf method
+
+    // Builds the exception reported for a malformed input line
+    private IllegalArgumentException malformed(byte[] buffer, int start, int end, String reason) {
+        return new IllegalArgumentException("Malformed record on line " + lineNumber + " (\""
+                + new String(buffer, start, end - start, StandardCharsets.US_ASCII) + "\"): " + reason);
+    } // End malformed method
+
+} // End CsvBatchProcessor class
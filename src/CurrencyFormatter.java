@@ -0,0 +1,174 @@
+/**
+ * The {@code CurrencyFormatter} class writes amounts of money as text without creating any
+ * intermediate objects. Amounts are held in whole cents and written either in display form
+ * ({@code $1,234,567.89}) or in plain form ({@code 1234567.89}) for machine-readable output.
+ * Output goes directly into a caller-provided {@link StringBuilder} or byte array.
+ * <p>
+ * The class holds no state, so a single set of methods is safe to use from any number of
+ * threads at once, unlike {@link java.text.DecimalFormat}.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class CurrencyFormatter {
+
+    // Powers of ten up to the largest that fits in a long, used to emit digits most significant first
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    } // End static initializer
+
+    private CurrencyFormatter() {
+    } // End CurrencyFormatter constructor
+
+    /**
+     * Rounds an amount of money to whole cents, rounding halves up toward positive infinity
+     * as {@link Math#round(double)} does, so $0.025 becomes 3 cents and -$0.025 becomes -2.
+     * The {@code DecimalFormat} this replaced rounded halves to even instead, so an amount
+     * exactly halfway between two cents, such as $0.125, can now come out a cent higher.
+     *
+     * @param amount the amount in dollars
+     * @return the amount in cents
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    } // End toCents method
+
+    /**
+     * Appends an amount in display form, such as {@code $1,234.50} or {@code -$0.75}.
+     *
+     * @param sb the builder to append to
+     * @param amount the amount in dollars, rounded to the nearest cent
+     * @return the builder, for chaining
+     */
+    public static StringBuilder appendCurrency(StringBuilder sb, double amount) {
+        return appendCurrency(sb, toCents(amount));
+    } // End appendCurrency method
+
+    /**
+     * Appends an amount in display form, such as {@code $1,234.50} or {@code -$0.75}.
+     *
+     * @param sb the builder to append to
+     * @param cents the amount in cents
+     * @return the builder, for chaining
+     */
+    public static StringBuilder appendCurrency(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        sb.append('$');
+        long dollars = cents / 100;
+        int digits = digitCount(dollars);
+        for (int i = digits - 1; i >= 0; i--) {
+            sb.append((char) ('0' + (dollars / POWERS_OF_TEN[i]) % 10));
+            if (i > 0 && i % 3 == 0) {
+                sb.append(',');
+            }
+        }
+        return appendFraction(sb, cents);
+    } // End appendCurrency method
+
+    /**
+     * Appends an amount in plain form, such as {@code 1234.50} or {@code -0.75}.
+     *
+     * @param sb the builder to append to
+     * @param cents the amount in cents
+     * @return the builder, for chaining
+     */
+    public static StringBuilder appendPlain(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        sb.append(cents / 100);
+        return appendFraction(sb, cents);
+    } // End appendPlain method
+
+    /**
+     * Writes an amount in display form into a byte array as ASCII.
+     *
+     * @param buffer the array to write to, which must have room for up to 27 bytes
+     * @param position the index to start writing at
+     * @param cents the amount in cents
+     * @return the index just past the last byte written
+     */
+    public static int writeCurrency(byte[] buffer, int position, long cents) {
+        if (cents < 0) {
+            buffer[position++] = '-';
+            cents = -cents;
+        }
+        buffer[position++] = '$';
+        long dollars = cents / 100;
+        int digits = digitCount(dollars);
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[position++] = (byte) ('0' + (dollars / POWERS_OF_TEN[i]) % 10);
+            if (i > 0 && i % 3 == 0) {
+                buffer[position++] = ',';
+            }
+        }
+        return writeFraction(buffer, position, cents);
+    } // End writeCurrency method
+
+    /**
+     * Writes an amount in plain form into a byte array as ASCII.
+     *
+     * @param buffer the array to write to, which must have room for up to 21 bytes
+     * @param position the index to start writing at
+     * @param cents the amount in cents
+     * @return the index just past the last byte written
+     */
+    public static int writePlain(byte[] buffer, int position, long cents) {
+        if (cents < 0) {
+            buffer[position++] = '-';
+            cents = -cents;
+        }
+        position = writeLong(buffer, position, cents / 100);
+        return writeFraction(buffer, position, cents);
+    } // End writePlain method
+
+    /**
+     * Writes a non-negative whole number into a byte array as ASCII digits.
+     *
+     * @param buffer the array to write to, which must have room for up to 19 bytes
+     * @param position the index to start writing at
+     * @param value the number to write
+     * @return the index just past the last byte written
+     */
+    public static int writeLong(byte[] buffer, int position, long value) {
+        int digits = digitCount(value);
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[position++] = (byte) ('0' + (value / POWERS_OF_TEN[i]) % 10);
+        }
+        return position;
+    } // End writeLong method
+
+    // Appends the decimal point and the two cents digits of a non-negative amount
+    private static StringBuilder appendFraction(StringBuilder sb, long cents) {
+        int fraction = (int) (cents % 100);
+        return sb.append('.').append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+    } // End appendFraction method
+
+    // Writes the decimal point and the two cents digits of a non-negative amount
+    private static int writeFraction(byte[] buffer, int position, long cents) {
+        int fraction = (int) (cents % 100);
+        buffer[position++] = '.';
+        buffer[position++] = (byte) ('0' + fraction / 10);
+        buffer[position++] = (byte) ('0' + fraction % 10);
+        return position;
+    } // End writeFraction method
+
+    // Returns the number of decimal digits in a non-negative number, counting zero as one digit
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    } // End digitCount method
+
+} // End CurrencyFormatter class
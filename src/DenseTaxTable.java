@@ -0,0 +1,158 @@
+/**
+ * The {@code DenseTaxTable} class precomputes the tax, in cents, of every whole-dollar income
+ * from zero up to a configurable ceiling for every filing status, so that looking up such an
+ * income is a single indexed array load instead of a bracket search.
+ * <p>
+ * Each filing status gets one {@code int[]} of {@code ceiling + 1} entries, which costs four
+ * bytes per dollar of ceiling per status: a $1,000,000 ceiling takes about 4 MB per status and
+ * 20 MB for all five. Use {@link #estimateFootprintBytes(int)} to choose a ceiling for a heap
+ * budget before building a table, and {@link #footprintBytes(int)} to report what a built table
+ * uses. Incomes with cents, negative incomes and incomes above the ceiling fall back to the
+ * schedule, so every lookup returns the same answer as {@link TaxSchedule#taxCents(long)}.
+ * <p>
+ * A table is immutable once built and may be shared freely between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class DenseTaxTable {
+
+    // The approximate size of an array's object header, in bytes
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    // The highest whole-dollar income held in the table
+    private final int ceiling;
+
+    // The tax in cents of every whole-dollar income, indexed by filing status and then by dollars
+    private final int[][] taxCents;
+
+    /**
+     * Builds a DenseTaxTable covering every whole-dollar income from zero to the ceiling.
+     *
+     * @param ceiling the highest whole-dollar income to precompute
+     * @throws IllegalArgumentException if the ceiling is negative, or so high that a tax in the
+     *                                  table would not fit in an {@code int} of cents
+     */
+    public DenseTaxTable(int ceiling) {
+        if (ceiling < 0 || ceiling == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ceiling out of range: " + ceiling);
+        }
+        this.ceiling = ceiling;
+        this.taxCents = new int[6][];
+
+        for (int status = 1; status <= 5; status++) {
+            TaxSchedule schedule = TaxTableCalculator.schedule(status);
+            if (schedule.taxCents(ceiling * 100L) > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The tax on $" + ceiling + " does not fit in the table");
+            }
+            int[] table = new int[ceiling + 1];
+            for (int dollars = 0; dollars <= ceiling; dollars++) {
+                table[dollars] = (int) schedule.taxCents(dollars * 100L);
+            }
+            taxCents[status] = table;
+        } // End for loop over filing statuses
+    } // End DenseTaxTable constructor
+
+    /**
+     * Returns the tax, in cents, on the given income, from the table when the income is a whole
+     * number of dollars no higher than the ceiling and from the schedule otherwise.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return the calculated tax in cents
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public long taxCents(int filingStatus, long incomeCents) {
+        int[] table = table(filingStatus);
+        long dollars = incomeCents / 100;
+        if (incomeCents >= 0 && dollars <= ceiling && dollars * 100 == incomeCents) {
+            return table[(int) dollars];
+        }
+        return TaxTableCalculator.schedule(filingStatus).taxCents(incomeCents);
+    } // End taxCents method
+
+    /**
+     * Returns the tax on a whole-dollar income, from the table when the income is no higher
+     * than the ceiling and from the schedule otherwise.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param dollars the gross income of the taxpayer in whole dollars
+     * @return the calculated tax in cents
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public long taxCentsForDollars(int filingStatus, int dollars) {
+        int[] table = table(filingStatus);
+        if (dollars >= 0 && dollars <= ceiling) {
+            return table[dollars];
+        }
+        return TaxTableCalculator.schedule(filingStatus).taxCents(dollars * 100L);
+    } // End taxCentsForDollars method
+
+    /**
+     * This method calculates the tax, in cents, for the records in {@code [from, to)} of a
+     * batch of taxpayers who share one filing status, using the table wherever it applies.
+     *
+     * @param filingStatus an integer (1–5) representing the filing status of every taxpayer
+     * @param incomeCents the gross income of each taxpayer in cents
+     * @param out the array that receives the calculated tax in cents
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     */
+    public void taxCents(int filingStatus, long[] incomeCents, long[] out, int from, int to) {
+        int[] table = table(filingStatus);
+        TaxSchedule schedule = TaxTableCalculator.schedule(filingStatus);
+        for (int i = from; i < to; i++) {
+            long income = incomeCents[i];
+            long dollars = income / 100;
+            out[i] = income >= 0 && dollars <= ceiling && dollars * 100 == income
+                    ? table[(int) dollars]
+                    : schedule.taxCents(income);
+        }
+    } // End taxCents method
+
+    /**
+     * @return the highest whole-dollar income held in the table
+     */
+    public int getCeiling() {
+        return ceiling;
+    } // End getCeiling method
+
+    /**
+     * @param filingStatus an integer (1–5) representing a filing status
+     * @return the approximate number of bytes the table for that filing status occupies
+     */
+    public long footprintBytes(int filingStatus) {
+        return ARRAY_HEADER_BYTES + 4L * table(filingStatus).length;
+    } // End footprintBytes method
+
+    /**
+     * @return the approximate number of bytes the tables for all filing statuses occupy
+     */
+    public long totalFootprintBytes() {
+        long total = 0;
+        for (int status = 1; status <= 5; status++) {
+            total += footprintBytes(status);
+        }
+        return total;
+    } // End totalFootprintBytes method
+
+    /**
+     * Estimates the memory one filing status's table would occupy for a given ceiling,
+     * without building it.
+     *
+     * @param ceiling the highest whole-dollar income that would be precomputed
+     * @return the approximate number of bytes per filing status
+     */
+    public static long estimateFootprintBytes(int ceiling) {
+        return ARRAY_HEADER_BYTES + 4L * (ceiling + 1L);
+    } // End estimateFootprintBytes method
+
+    // Returns the table for a filing status, rejecting unknown statuses
+    private int[] table(int filingStatus) {
+        if (filingStatus < 1 || filingStatus > 5) {
+            throw new IllegalArgumentException("Unknown filing status: " + filingStatus);
+        }
+        return taxCents[filingStatus];
+    } // End table method
+
+} // End DenseTaxTable class
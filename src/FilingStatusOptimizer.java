@@ -0,0 +1,157 @@
+/**
+ * The {@code FilingStatusOptimizer} class works out which filing status gives the lowest tax
+ * on an income, for household planning. Every eligible schedule is evaluated for the income
+ * in one loop, exactly in cents, and the results are ranked from the lowest tax to the
+ * highest.
+ * <p>
+ * The statuses a household may choose between are given as a bit mask with bit {@code s} set
+ * for each eligible status {@code s}, built with {@link #statusBit(int)} or taken from
+ * {@link #ALL_STATUSES} and {@link #INDIVIDUAL_STATUSES}. Ties are ranked by the lower status
+ * number. The batch variant picks the best status for every household in a set of arrays
+ * without allocating per household.
+ * <p>
+ * The class is stateless and safe to use from any number of threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class FilingStatusOptimizer {
+
+    // The mask of every filing status
+    public static final int ALL_STATUSES = 0b111110;
+
+    // The mask of the statuses open to individuals and couples, leaving out estates and trusts
+    public static final int INDIVIDUAL_STATUSES = 0b011110;
+
+    private FilingStatusOptimizer() {
+    } // End FilingStatusOptimizer constructor
+
+    /**
+     * @param filingStatus an integer (1–5) representing a filing status
+     * @return the mask bit of that status
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static int statusBit(int filingStatus) {
+        TaxTableCalculator.schedule(filingStatus);
+        return 1 << filingStatus;
+    } // End statusBit method
+
+    /**
+     * Calculates the tax on an income under every eligible filing status and ranks the results
+     * from the lowest tax to the highest.
+     *
+     * @param incomeCents the gross income in cents
+     * @param eligibleStatuses the mask of the statuses to compare
+     * @return one result per eligible status, lowest tax first
+     * @throws IllegalArgumentException if the mask is empty or has bits that are not statuses
+     */
+    public static TaxResult[] rank(long incomeCents, int eligibleStatuses) {
+        checkMask(eligibleStatuses);
+        int[] statuses = new int[Integer.bitCount(eligibleStatuses)];
+        int[] brackets = new int[statuses.length];
+        long[] taxes = new long[statuses.length];
+
+        // Evaluate every eligible schedule, inserting each into its ranked place as it goes
+        int count = 0;
+        for (int status = 1; status <= 5; status++) {
+            if ((eligibleStatuses & (1 << status)) == 0) {
+                continue;
+            }
+            TaxSchedule schedule = TaxTableCalculator.schedule(status);
+            int bracket = schedule.bracketIndexCents(incomeCents);
+            long tax = schedule.taxCents(incomeCents, bracket);
+            int i = count++;
+            while (i > 0 && taxes[i - 1] > tax) {
+                statuses[i] = statuses[i - 1];
+                brackets[i] = brackets[i - 1];
+                taxes[i] = taxes[i - 1];
+                i--;
+            }
+            statuses[i] = status;
+            brackets[i] = bracket;
+            taxes[i] = tax;
+        } // End for loop over filing statuses
+
+        TaxResult[] ranked = new TaxResult[count];
+        for (int i = 0; i < count; i++) {
+            ranked[i] = TaxResult.fromSchedule(statuses[i], TaxTableCalculator.schedule(statuses[i]),
+                    incomeCents / 100.0, taxes[i] / 100.0, brackets[i]);
+        }
+        return ranked;
+    } // End rank method
+
+    /**
+     * Finds the eligible filing status that gives the lowest tax on an income, without
+     * allocating.
+     *
+     * @param incomeCents the gross income in cents
+     * @param eligibleStatuses the mask of the statuses to compare
+     * @return the status with the lowest tax, the lower status on a tie
+     * @throws IllegalArgumentException if the mask is empty or has bits that are not statuses
+     */
+    public static int bestStatus(long incomeCents, int eligibleStatuses) {
+        checkMask(eligibleStatuses);
+        int best = 0;
+        long bestTax = Long.MAX_VALUE;
+        for (int status = 1; status <= 5; status++) {
+            if ((eligibleStatuses & (1 << status)) != 0) {
+                long tax = TaxTableCalculator.schedule(status).taxCents(incomeCents);
+                if (tax < bestTax) {
+                    best = status;
+                    bestTax = tax;
+                }
+            }
+        }
+        return best;
+    } // End bestStatus method
+
+    /**
+     * Finds the best filing status for each household in {@code [from, to)} of a batch. For
+     * household {@code i}, every status in {@code eligibleStatuses[i]} is evaluated on
+     * {@code incomeCents[i]}, and the status with the lowest tax, that tax and the saving over
+     * the highest-tax eligible status are written at index {@code i} of the output arrays.
+     *
+     * @param incomeCents the gross income of each household in cents
+     * @param eligibleStatuses the mask of the statuses each household may choose between
+     * @param bestStatuses the array that receives each household's best status
+     * @param bestTaxCents the array that receives the tax, in cents, under the best status
+     * @param savingsCents the array that receives how much less, in cents, the best status
+     *                     costs than the worst eligible one
+     * @param from the index of the first household, inclusive
+     * @param to the index of the last household, exclusive
+     * @throws IllegalArgumentException if any mask is empty or has bits that are not statuses
+     */
+    public static void optimize(long[] incomeCents, int[] eligibleStatuses, int[] bestStatuses,
+                                long[] bestTaxCents, long[] savingsCents, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int mask = eligibleStatuses[i];
+            checkMask(mask);
+            long income = incomeCents[i];
+            int best = 0;
+            long lowest = Long.MAX_VALUE;
+            long highest = Long.MIN_VALUE;
+            for (int status = 1; status <= 5; status++) {
+                if ((mask & (1 << status)) == 0) {
+                    continue;
+                }
+                long tax = TaxTableCalculator.schedule(status).taxCents(income);
+                if (tax < lowest) {
+                    best = status;
+                    lowest = tax;
+                }
+                highest = Math.max(highest, tax);
+            }
+            bestStatuses[i] = best;
+            bestTaxCents[i] = lowest;
+            savingsCents[i] = highest - lowest;
+        } // End for loop over households
+    } // End optimize method
+
+    // Rejects a mask with no statuses or with bits that do not stand for a status
+    private static void checkMask(int eligibleStatuses) {
+        if (eligibleStatuses == 0 || (eligibleStatuses & ~ALL_STATUSES) != 0) {
+            throw new IllegalArgumentException("Invalid filing status mask: " + Integer.toBinaryString(eligibleStatuses));
+        }
+    } // End checkMask method
+
+} // End FilingStatusOptimizer class
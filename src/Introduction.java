@@ -2,10 +2,11 @@ import java.util.Scanner;
 
 public class Introduction {
 
+    // One scanner shared by every prompt, so input buffered for a later prompt is not lost
+    private static final Scanner SCANNER = new Scanner(System.in);
+
     // Method that displays and obtains the taxpayer's filing status
     public static int introduction() {
-        Scanner scanner = new Scanner(System.in);
-
         System.out.println("Hello and welcome!");
 
         System.out.println("""
@@ -17,15 +18,14 @@ public class Introduction {
                 5) Estates and Trusts
                 """
         );
-        return scanner.nextInt();
+        return SCANNER.nextInt();
     } // End introduction method
 
     // Method that obtains the taxpayer's gross salary
     public static double getGrossSalary() {
 
-        Scanner scanner = new Scanner(System.in);
         System.out.println("Enter your total income: ");
-        return scanner.nextDouble();
+        return SCANNER.nextDouble();
 
     } // End getGrossSalary
 
@@ -1,5 +1,77 @@
+import java.io.BufferedInputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+
+        // Batch modes are selected by their first argument; with no arguments, run interactively
+        if (args.length > 0) {
+            switch (args[0]) {
+                case "--csv":
+                    requireArguments(args, 3, "--csv <input.csv> <output.csv>");
+                    runCsvBatch(Path.of(args[1]), Path.of(args[2]));
+                    return;
+                case "--csv-columnar":
+                    requireArguments(args, 3, "--csv-columnar <input.csv> <output.taxc>");
+                    runCsvColumnarBatch(Path.of(args[1]), Path.of(args[2]));
+                    return;
+                case "--csv-resumable":
+                    requireArguments(args, 3, "--csv-resumable <input.csv> <output.csv> [checkpointRecords]");
+                    runCheckpointedBatch(Path.of(args[1]), Path.of(args[2]), args.length > 3
+                            ? Integer.parseInt(args[3]) : CheckpointedBatchRunner.DEFAULT_CHECKPOINT_RECORDS);
+                    return;
+                case "--sharded":
+                    requireArguments(args, 3, "--sharded <input.csv> <output.csv> [workers [jvmOption...]]");
+                    runShardedBatch(Path.of(args[1]), Path.of(args[2]), args.length > 3
+                            ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors(),
+                            Arrays.asList(args).subList(Math.min(args.length, 4), args.length));
+                    return;
+                case ShardedBatchCoordinator.SHARD_OPTION:
+                    requireArguments(args, 5, ShardedBatchCoordinator.SHARD_OPTION + " <input.csv> <start> <end> <part>");
+                    System.out.println(ShardedBatchCoordinator.processShard(Path.of(args[1]),
+                            Long.parseLong(args[2]), Long.parseLong(args[3]), Path.of(args[4])));
+                    return;
+                case "--pipeline":
+                    requireArguments(args, 3, "--pipeline <input.csv> <output.csv> [batchSize queueCapacity]");
+                    runPipeline(Path.of(args[1]), Path.of(args[2]),
+                            args.length > 3 ? Integer.parseInt(args[3]) : TaxPipeline.DEFAULT_BATCH_SIZE,
+                            args.length > 4 ? Integer.parseInt(args[4]) : TaxPipeline.DEFAULT_QUEUE_CAPACITY);
+                    return;
+                case "--binary":
+                    requireArguments(args, 3, "--binary <input.bin> <output.bin>");
+                    runBinaryBatch(Path.of(args[1]), Path.of(args[2]));
+                    return;
+                case "--binary-parallel":
+                    requireArguments(args, 3, "--binary-parallel <input.bin> <output.bin> [leafSize]");
+                    runParallelBinaryBatch(Path.of(args[1]), Path.of(args[2]), args.length > 3
+                            ? Integer.parseInt(args[3]) : ParallelTaxCalculator.DEFAULT_LEAF_SIZE);
+                    return;
+                case "--sweep":
+                    requireArguments(args, 3, "--sweep <status> <output.csv> [maxIncome step]");
+                    runSweep(args);
+                    return;
+                case "--stdin":
+                    runStream();
+                    return;
+                case "--serve":
+                    runServer(args);
+                    return;
+                default:
+                    System.err.println("Unknown option: " + args[0]);
+                    System.exit(2);
+            } // End switch statements
+        }
 
         // Get user inputs from the Introduction class
         int statusInput = Introduction.introduction();
@@ -9,7 +81,171 @@ public class Main {
         TaxTableCalculator taxCalculator = new TaxTableCalculator(statusInput, grossSalary);
 
         // Calculate and print the tax rate based on the user's inputs
-        taxCalculator.getTaxRate();
+        try {
+            taxCalculator.getTaxRate();
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
 
     } // End Main method
-} // End Main class
\ No newline at end of file
+
+    // Streams a CSV file of taxpayers through the calculator into a results CSV file
+    private static void runCsvBatch(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        long records;
+        try (InputStream in = BatchFiles.openInput(input);
+             OutputStream out = BatchFiles.openOutput(output)) {
+            records = new CsvBatchProcessor().process(in, out);
+        }
+        reportThroughput(records, System.nanoTime() - start);
+    } // End runCsvBatch method
+
+    // Streams a CSV file of taxpayers through the calculator into a columnar binary results file
+    private static void runCsvColumnarBatch(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        long records;
+        try (InputStream in = BatchFiles.openInput(input);
+             ColumnarResultWriter out = new ColumnarResultWriter(output)) {
+            records = new CsvBatchProcessor().process(in, out);
+            out.commit();
+        }
+        reportThroughput(records, System.nanoTime() - start);
+    } // End runCsvColumnarBatch method
+
+    // Runs a CSV batch that checkpoints its progress, resuming an interrupted run of the same files
+    private static void runCheckpointedBatch(Path input, Path output, int checkpointRecords) throws IOException {
+        CheckpointedBatchRunner runner = new CheckpointedBatchRunner(checkpointRecords);
+        long start = System.nanoTime();
+        long records = runner.process(input, output);
+        if (runner.getResumedRecords() > 0) {
+            System.err.printf("Resumed after %,d records%n", runner.getResumedRecords());
+        }
+        reportThroughput(records - runner.getResumedRecords(), System.nanoTime() - start);
+    } // End runCheckpointedBatch method
+
+    // Splits a CSV file between worker processes and joins their results in order
+    private static void runShardedBatch(Path input, Path output, int workers, List<String> jvmOptions)
+            throws IOException {
+        long start = System.nanoTime();
+        long records = new ShardedBatchCoordinator(workers, jvmOptions).process(input, output);
+        reportThroughput(records, System.nanoTime() - start);
+    } // End runShardedBatch method
+
+    // Runs a CSV file through the staged parse, compute, format and write pipeline
+    private static void runPipeline(Path input, Path output, int batchSize, int queueCapacity) throws IOException {
+        TaxPipeline pipeline = new TaxPipeline(batchSize, queueCapacity);
+        long start = System.nanoTime();
+        long records;
+        try (InputStream in = BatchFiles.openInput(input);
+             OutputStream out = BatchFiles.openOutput(output)) {
+            records = pipeline.process(in, out);
+        }
+        reportThroughput(records, System.nanoTime() - start);
+        System.err.print(pipeline.report());
+    } // End runPipeline method
+
+    // Calculates the tax for a memory-mapped file of binary taxpayer records
+    private static void runBinaryBatch(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        long records = new BinaryBatchProcessor().process(input, output);
+        reportThroughput(records, System.nanoTime() - start);
+    } // End runBinaryBatch method
+
+    // Calculates the tax for a memory-mapped file of binary taxpayer records across every core
+    private static void runParallelBinaryBatch(Path input, Path output, int leafSize) throws IOException {
+        ParallelTaxCalculator calculator = new ParallelTaxCalculator(ForkJoinPool.commonPool(), leafSize);
+        long start = System.nanoTime();
+        long records = new BinaryBatchProcessor(calculator).process(input, output);
+        reportThroughput(records, System.nanoTime() - start);
+    } // End runParallelBinaryBatch method
+
+    /*
+     * Writes the tax curve of one filing status from zero to the maximum income. The arguments
+     * are "--sweep <status> <output.csv> [maxIncome step]"; invalid ones exit with status 2.
+     */
+    private static void runSweep(String[] args) throws IOException {
+        int filingStatus;
+        try {
+            filingStatus = Integer.parseInt(args[1]);
+            TaxTableCalculator.schedule(filingStatus);
+        } catch (IllegalArgumentException e) {
+            System.err.println("The filing status must be an integer from 1 to 5: " + args[1]);
+            System.exit(2);
+            return;
+        }
+        long maxIncomeCents;
+        long stepCents;
+        try {
+            maxIncomeCents = CurrencyFormatter.toCents(args.length > 3 ? Double.parseDouble(args[3]) : 2_000_000);
+            stepCents = CurrencyFormatter.toCents(args.length > 4 ? Double.parseDouble(args[4]) : 1);
+        } catch (NumberFormatException e) {
+            System.err.println("The maximum income and the step must be amounts in dollars");
+            System.exit(2);
+            return;
+        }
+        if (stepCents < 1 || maxIncomeCents < 0) {
+            System.err.println("The step must be at least $0.01 and the maximum income must not be negative");
+            System.exit(2);
+        }
+        Path output = Path.of(args[2]);
+        long points = maxIncomeCents / stepCents + 1;
+        long start = System.nanoTime();
+        try (OutputStream out = BatchFiles.openOutput(output)) {
+            TaxSweep.write(filingStatus, 0, stepCents, points, out);
+        }
+        reportThroughput(points, System.nanoTime() - start);
+    } // End runSweep method
+
+    // Reads status and income pairs from standard input and writes one tax amount per pair
+    private static void runStream() throws IOException {
+        // Read and write the raw descriptors so that no per-line synchronization or decoding occurs
+        try (InputStream in = new BufferedInputStream(new FileInputStream(FileDescriptor.in), 1 << 16);
+             OutputStream out = new FileOutputStream(FileDescriptor.out)) {
+            new StreamTaxProcessor().process(in, out);
+        }
+    } // End runStream method
+
+    /*
+     * Starts the HTTP tax service, which keeps running until the process is stopped. The
+     * arguments are "--serve [port] [--batch <size> <delayMicros>] [--cache <entries>]";
+     * --batch turns on request coalescing and --cache turns on the result cache.
+     */
+    private static void runServer(String[] args) throws IOException {
+        int port = TaxHttpServer.DEFAULT_PORT;
+        TaxRequestCoalescer coalescer = null;
+        TaxResultCache cache = null;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--batch":
+                    requireArguments(args, i + 3, "--serve [port] --batch <size> <delayMicros>");
+                    coalescer = new TaxRequestCoalescer(Integer.parseInt(args[i + 1]),
+                            Long.parseLong(args[i + 2]), TimeUnit.MICROSECONDS);
+                    i += 2;
+                    break;
+                case "--cache":
+                    requireArguments(args, i + 2, "--serve [port] --cache <entries>");
+                    cache = new TaxResultCache(Integer.parseInt(args[++i]));
+                    break;
+                default:
+                    port = Integer.parseInt(args[i]);
+            } // End switch statements
+        }
+        TaxHttpServer server = new TaxHttpServer(new InetSocketAddress(port), coalescer, cache);
+        server.start();
+        System.err.println("Serving " + TaxHttpServer.PATH + " on port " + server.getAddress().getPort());
+    } // End runServer method
+
+    // Prints the number of records processed and the rate they were processed at
+    private static void reportThroughput(long records, long elapsedNanos) {
+        System.err.printf("Processed %,d records in %,d ms (%,.0f records/s)%n", records,
+                elapsedNanos / 1_000_000, ParallelTaxCalculator.recordsPerSecond(records, elapsedNanos));
+    } // End reportThroughput method
+
+    // Exits with a usage message unless the expected number of arguments were given
+    private static void requireArguments(String[] args, int count, String usage) {
+        if (args.length < count) {
+            System.err.println("Usage: java Main " + usage);
+            System.exit(2);
+        }
+    } // End requireArguments method
+} // End Main class
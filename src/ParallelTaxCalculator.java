@@ -0,0 +1,225 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code ParallelTaxCalculator} class calculates the tax for very large batches of
+ * taxpayers by splitting the income arrays across a {@link ForkJoinPool}.
+ * <p>
+ * Each batch is split in half recursively until a range holds no more than the configured
+ * leaf size, and each leaf is evaluated with {@link TaxTableCalculator#calculateBatch}, or
+ * with {@link TaxTableCalculator#calculateBatchCents} for incomes in cents. Every record's tax
+ * is written to the same index of the output array it was read from, so the results are in
+ * input order no matter how the work was scheduled. The arrays and filing statuses of a batch
+ * are checked before any work is forked, so a bad batch fails on the calling thread.
+ * <p>
+ * {@link BinaryBatchProcessor} uses this class for the {@code --binary-parallel} batch mode.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class ParallelTaxCalculator {
+
+    // The leaf size used when none is given
+    public static final int DEFAULT_LEAF_SIZE = 16_384;
+
+    // The pool the batches are split across
+    private final ForkJoinPool pool;
+
+    // The largest number of records evaluated by one task without splitting further
+    private final int leafSize;
+
+    /**
+     * Constructs a ParallelTaxCalculator that runs on the common pool with the default leaf size.
+     */
+    public ParallelTaxCalculator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_LEAF_SIZE);
+    } // End ParallelTaxCalculator constructor
+
+    /**
+     * Constructs a ParallelTaxCalculator that runs on the given pool.
+     *
+     * @param pool the pool the batches are split across
+     * @param leafSize the largest number of records evaluated by one task without splitting further
+     */
+    public ParallelTaxCalculator(ForkJoinPool pool, int leafSize) {
+        if (leafSize < 1) {
+            throw new IllegalArgumentException("Leaf size must be positive: " + leafSize);
+        }
+        this.pool = pool;
+        this.leafSize = leafSize;
+    } // End ParallelTaxCalculator constructor
+
+    /**
+     * This method calculates the tax for a batch of taxpayers who share one filing status,
+     * writing the tax for {@code incomes[i]} to {@code out[i]}.
+     *
+     * @param filingStatus an integer (1–5) representing the filing status of every taxpayer
+     * @param incomes the gross income of each taxpayer
+     * @param out the array that receives the calculated tax, at least as long as {@code incomes}
+     * @return the time taken in nanoseconds
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5, or the
+     *                                  output array is too short
+     */
+    public long calculate(int filingStatus, double[] incomes, double[] out) {
+        // Validate the batch up front so a bad batch fails here rather than inside a worker
+        TaxTableCalculator.schedule(filingStatus);
+        checkBatch(null, incomes.length, out.length);
+        long start = System.nanoTime();
+        pool.invoke(new BatchTask(filingStatus, null, incomes, out, 0, incomes.length));
+        return System.nanoTime() - start;
+    } // End calculate method
+
+    /**
+     * This method calculates the tax for a batch of taxpayers with individual filing statuses,
+     * writing the tax for {@code statuses[i]} and {@code incomes[i]} to {@code out[i]}.
+     *
+     * @param statuses the filing status (1–5) of each taxpayer
+     * @param incomes the gross income of each taxpayer
+     * @param out the array that receives the calculated tax, at least as long as {@code incomes}
+     * @return the time taken in nanoseconds
+     * @throws IllegalArgumentException if the arrays of statuses and incomes differ in length,
+     *                                  the output array is too short, or any filing status is
+     *                                  not between 1 and 5
+     */
+    public long calculate(int[] statuses, double[] incomes, double[] out) {
+        checkBatch(statuses, incomes.length, out.length);
+        long start = System.nanoTime();
+        pool.invoke(new BatchTask(0, statuses, incomes, out, 0, incomes.length));
+        return System.nanoTime() - start;
+    } // End calculate method
+
+    /**
+     * This method calculates the exact tax, in cents, for a batch of taxpayers with individual
+     * filing statuses, writing the tax for {@code statuses[i]} and {@code incomeCents[i]} to
+     * {@code out[i]}.
+     *
+     * @param statuses the filing status (1–5) of each taxpayer
+     * @param incomeCents the gross income of each taxpayer in cents
+     * @param out the array that receives the calculated tax in cents, at least as long as
+     *            {@code incomeCents}
+     * @return the time taken in nanoseconds
+     * @throws IllegalArgumentException if the arrays of statuses and incomes differ in length,
+     *                                  the output array is too short, or any filing status is
+     *                                  not between 1 and 5
+     */
+    public long calculateCents(int[] statuses, long[] incomeCents, long[] out) {
+        checkBatch(statuses, incomeCents.length, out.length);
+        long start = System.nanoTime();
+        pool.invoke(new CentsBatchTask(statuses, incomeCents, out, 0, incomeCents.length));
+        return System.nanoTime() - start;
+    } // End calculateCents method
+
+    /**
+     * Converts a record count and elapsed time into a throughput figure.
+     *
+     * @param records the number of records processed
+     * @param elapsedNanos the time taken in nanoseconds
+     * @return the throughput in records per second
+     */
+    public static double recordsPerSecond(long records, long elapsedNanos) {
+        return elapsedNanos <= 0 ? 0 : records * 1_000_000_000.0 / elapsedNanos;
+    } // End recordsPerSecond method
+
+    /**
+     * @return the largest number of records evaluated by one task without splitting further
+     */
+    public int getLeafSize() {
+        return leafSize;
+    } // End getLeafSize method
+
+    /*
+     * Checks that a batch's arrays line up and that every filing status is known, naming the
+     * first record that is not. The statuses are null when the whole batch shares one status.
+     */
+    private static void checkBatch(int[] statuses, int records, int outLength) {
+        if (statuses != null && statuses.length != records) {
+            throw new IllegalArgumentException("The batch has " + statuses.length + " filing statuses for "
+                    + records + " incomes");
+        }
+        if (outLength < records) {
+            throw new IllegalArgumentException("The output array holds " + outLength + " results for "
+                    + records + " records");
+        }
+        if (statuses != null) {
+            for (int i = 0; i < records; i++) {
+                try {
+                    TaxTableCalculator.schedule(statuses[i]);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Record " + i + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    } // End checkBatch method
+
+    // A task that evaluates one contiguous range of a batch, splitting it while it is too large
+    private final class BatchTask extends RecursiveAction {
+
+        // RecursiveAction is Serializable, although tasks are never serialized
+        private static final long serialVersionUID = 1L;
+
+        private final int filingStatus;
+        private final int[] statuses;
+        private final double[] incomes;
+        private final double[] out;
+        private final int from;
+        private final int to;
+
+        BatchTask(int filingStatus, int[] statuses, double[] incomes, double[] out, int from, int to) {
+            this.filingStatus = filingStatus;
+            this.statuses = statuses;
+            this.incomes = incomes;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        } // End BatchTask constructor
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                if (statuses == null) {
+                    TaxTableCalculator.calculateBatch(filingStatus, incomes, out, from, to);
+                } else {
+                    TaxTableCalculator.calculateBatch(statuses, incomes, out, from, to);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(filingStatus, statuses, incomes, out, from, mid),
+                    new BatchTask(filingStatus, statuses, incomes, out, mid, to));
+        } // End compute method
+
+    } // End BatchTask class
+
+    // A task that evaluates one contiguous range of a batch in cents, splitting it while it is too large
+    private final class CentsBatchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] statuses;
+        private final long[] incomeCents;
+        private final long[] out;
+        private final int from;
+        private final int to;
+
+        CentsBatchTask(int[] statuses, long[] incomeCents, long[] out, int from, int to) {
+            this.statuses = statuses;
+            this.incomeCents = incomeCents;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        } // End CentsBatchTask constructor
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                TaxTableCalculator.calculateBatchCents(statuses, incomeCents, out, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CentsBatchTask(statuses, incomeCents, out, from, mid),
+                    new CentsBatchTask(statuses, incomeCents, out, mid, to));
+        } // End compute method
+
+    } // End CentsBatchTask class
+
+} // End ParallelTaxCalculator class
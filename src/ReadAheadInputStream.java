@@ -0,0 +1,193 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The {@code ReadAheadInputStream} class reads another stream on a background thread, keeping
+ * a bounded number of chunks ready ahead of the consumer. Wrapped around a decompressing
+ * stream, it lets decompression run on its own core while the consumer parses and calculates.
+ * <p>
+ * The chunks are allocated once and recycled between the two threads. A failure on the
+ * background thread is rethrown to the consumer when it reaches the point of failure. The
+ * stream must be read by one thread at a time.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class ReadAheadInputStream extends InputStream {
+
+    // The chunk size used when none is given
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 18;
+
+    // The number of chunks read ahead when none is given
+    public static final int DEFAULT_CHUNK_COUNT = 4;
+
+    // A block of bytes read ahead, or the end of the stream or a failure when length is -1
+    private static final class Chunk {
+        final byte[] data;
+        int length;
+        IOException failure;
+
+        Chunk(int size) {
+            data = new byte[size];
+        } // End Chunk constructor
+    } // End Chunk class
+
+    // The stream being read ahead
+    private final InputStream source;
+
+    // Chunks filled by the background thread, in order
+    private final BlockingQueue<Chunk> filled;
+
+    // Chunks the consumer has finished with, waiting to be refilled
+    private final BlockingQueue<Chunk> empty;
+
+    // The background thread
+    private final Thread reader;
+
+    // The chunk the consumer is reading and its read position
+    private Chunk current;
+    private int position;
+
+    // Set once the end of the stream (or a failure) has been reached
+    private boolean finished;
+
+    /**
+     * Constructs a ReadAheadInputStream with the default chunk size and count, and starts
+     * reading ahead.
+     *
+     * @param source the stream to read ahead
+     */
+    public ReadAheadInputStream(InputStream source) {
+        this(source, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_COUNT);
+    } // End ReadAheadInputStream constructor
+
+    /**
+     * Constructs a ReadAheadInputStream and starts reading ahead.
+     *
+     * @param source the stream to read ahead
+     * @param chunkSize the size of each chunk in bytes
+     * @param chunkCount the number of chunks; at most this many minus one are read ahead
+     */
+    public ReadAheadInputStream(InputStream source, int chunkSize, int chunkCount) {
+        if (chunkSize < 1 || chunkCount < 2) {
+            throw new IllegalArgumentException("Read-ahead needs a positive chunk size and at least two chunks");
+        }
+        this.source = source;
+        this.filled = new ArrayBlockingQueue<>(chunkCount);
+        this.empty = new ArrayBlockingQueue<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            empty.add(new Chunk(chunkSize));
+        }
+        this.reader = new Thread(this::readAhead, "read-ahead");
+        reader.setDaemon(true);
+        reader.start();
+    } // End ReadAheadInputStream constructor
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current.data[position++] & 0xFF;
+    } // End read method
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current.data, position, buffer, offset, count);
+        position += count;
+        return count;
+    } // End read method
+
+    @Override
+    public int available() {
+        return current == null || finished ? 0 : current.length - position;
+    } // End available method
+
+    /**
+     * Stops the background thread and closes the underlying stream.
+     *
+     * @throws IOException if the underlying stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        reader.interrupt();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        source.close();
+    } // End close method
+
+    // Makes sure the current chunk has unread bytes, returning false at the end of the stream
+    private boolean ensureData() throws IOException {
+        while (!finished && (current == null || position == current.length)) {
+            if (current != null) {
+                empty.add(current);
+                current = null;
+            }
+            Chunk next;
+            try {
+                next = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for input");
+            }
+            if (next.length < 0) {
+                finished = true;
+                if (next.failure != null) {
+                    throw next.failure;
+                }
+                return false;
+            }
+            current = next;
+            position = 0;
+        }
+        return !finished;
+    } // End ensureData method
+
+    // Runs on the background thread, filling chunks until the end of the stream or a failure
+    private void readAhead() {
+        try {
+            while (true) {
+                Chunk chunk = empty.take();
+                try {
+                    int length = 0;
+                    int read = 0;
+                    while (length < chunk.data.length
+                            && (read = source.read(chunk.data, length, chunk.data.length - length)) > 0) {
+                        length += read;
+                    }
+                    if (length > 0) {
+                        chunk.length = length;
+                        filled.put(chunk);
+                        if (read >= 0) {
+                            continue;
+                        }
+                        chunk = empty.take();
+                    }
+                    chunk.length = -1;
+                } catch (IOException e) {
+                    chunk.length = -1;
+                    chunk.failure = e;
+                }
+                filled.put(chunk);
+                return;
+            } // End while loop
+        } catch (InterruptedException e) {
+            // close() interrupts the thread to stop it
+        }
+    } // End readAhead method
+
+} // End ReadAheadInputStream class
@@ -0,0 +1,307 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The {@code ShardedBatchCoordinator} class runs a CSV batch across several worker JVMs on one
+ * host. The input file is split into byte ranges that each start and end on a line boundary,
+ * one worker process is launched per range, and the workers' results are joined in input
+ * order, so the output is identical to a single {@link CsvBatchProcessor} run.
+ * <p>
+ * Each worker is started as {@code java Main --shard <input> <start> <end> <part>} with the
+ * coordinator's own class path and any extra JVM options given, runs the ordinary batch loop
+ * over its range and writes its results, without a header, to a part file beside the output.
+ * It reports its record count on standard output; its standard error is passed through. Once
+ * every worker has succeeded, the coordinator writes the header and appends the part files to
+ * the output, then deletes them. The workers are watched together, so as soon as any of them
+ * fails the rest are stopped, the part files are deleted and the run fails.
+ * <p>
+ * Separate processes give each shard its own heap and garbage collector, so a host with more
+ * cores than one JVM uses well can be kept busy, and a worker that runs out of memory takes
+ * down only itself. The input must be uncompressed so it can be split; the output may be
+ * compressed. Only the first shard skips a header line. A worker numbers lines within its own
+ * shard, so the line number it reports for a malformed record is not the record's line number
+ * in the whole file.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class ShardedBatchCoordinator {
+
+    // The option that starts a worker process
+    public static final String SHARD_OPTION = "--shard";
+
+    // How far past a split point to look for the end of a line, per read
+    private static final int SCAN_SIZE = 1 << 16;
+
+    // The number of worker processes
+    private final int workers;
+
+    // Extra options passed to every worker JVM, such as its heap size
+    private final List<String> jvmOptions;
+
+    /**
+     * Constructs a ShardedBatchCoordinator with one worker per available processor.
+     */
+    public ShardedBatchCoordinator() {
+        this(Runtime.getRuntime().availableProcessors(), List.of());
+    } // End ShardedBatchCoordinator constructor
+
+    /**
+     * Constructs a ShardedBatchCoordinator.
+     *
+     * @param workers the number of worker processes to split the input between
+     * @param jvmOptions extra options passed to every worker JVM, such as {@code -Xmx512m}
+     */
+    public ShardedBatchCoordinator(int workers, List<String> jvmOptions) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed");
+        }
+        this.workers = workers;
+        this.jvmOptions = List.copyOf(jvmOptions);
+    } // End ShardedBatchCoordinator constructor
+
+    /**
+     * Processes a CSV file into a results file across the worker processes.
+     *
+     * @param input the taxpayer records
+     * @param output the file that receives the results
+     * @return the number of records processed
+     * @throws IOException if the input cannot be split, a worker fails or the output cannot
+     *                     be written
+     */
+    public long process(Path input, Path output) throws IOException {
+        long[] bounds = splitPoints(input, workers);
+        int shards = bounds.length - 1;
+        Path[] parts = new Path[shards];
+        Process[] processes = new Process[shards];
+        long records = 0;
+        try {
+            for (int i = 0; i < shards; i++) {
+                parts[i] = output.resolveSibling(output.getFileName() + ".part" + i);
+                processes[i] = launch(input, bounds[i], bounds[i + 1], parts[i]);
+            }
+            awaitWorkers(processes);
+            for (int i = 0; i < shards; i++) {
+                records += reportedCount(processes[i], i);
+            }
+            merge(parts, output);
+            return records;
+        } finally {
+            for (int i = 0; i < shards; i++) {
+                if (processes[i] != null) {
+                    processes[i].destroyForcibly();
+                }
+                if (parts[i] != null) {
+                    Files.deleteIfExists(parts[i]);
+                }
+            }
+        }
+    } // End process method
+
+    /**
+     * Runs the batch loop of one worker: calculates the records in the byte range
+     * {@code [start, end)} of the input, which must begin and end on line boundaries, and writes
+     * their results without a header to the part file.
+     *
+     * @param input the taxpayer records
+     * @param start the offset of the shard's first byte
+     * @param end the offset just past the shard's last byte
+     * @param part the file that receives the shard's results
+     * @return the number of records processed
+     * @throws IOException if reading or writing fails
+     * @throws IllegalArgumentException if a record is malformed or has an unknown filing status
+     */
+    public static long processShard(Path input, long start, long end, Path part) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             OutputStream out = Files.newOutputStream(part)) {
+            CsvBatchProcessor processor = new CsvBatchProcessor();
+            // Only a shard at the start of the file can begin with the header line
+            processor.begin(start == 0 ? 0 : 1, 0, 0);
+            in.position(start);
+            AsciiLineReader lines = new AsciiLineReader(Channels.newInputStream(in));
+            long length = end - start;
+            while (lines.bytesConsumed() < length && lines.next()) {
+                processor.processLine(lines.buffer(), lines.lineStart(), lines.lineEnd(), out);
+            }
+            processor.flush(out);
+            return processor.getRecordCount();
+        }
+    } // End processShard method
+
+    /**
+     * Splits a file into at most the given number of byte ranges of about equal size, moving
+     * each split point forward to just past the end of a line. Ranges that would be empty are
+     * dropped.
+     *
+     * @param input the file to split
+     * @param shards the number of ranges wanted
+     * @return the offsets of the ranges' boundaries, from 0 to the file's size
+     * @throws IOException if the file cannot be read, or it is gzip-compressed
+     */
+    public static long[] splitPoints(Path input, int shards) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+            if (size >= 2) {
+                channel.read(scan, 0);
+                if ((scan.get(0) & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF)
+                        && (scan.get(1) & 0xFF) == GZIPInputStream.GZIP_MAGIC >>> 8) {
+                    throw new IOException("A compressed file cannot be split into shards: " + input);
+                }
+            }
+
+            long[] bounds = new long[shards + 1];
+            int count = 1;
+            for (int i = 1; i < shards; i++) {
+                long point = Math.max(size * i / shards, bounds[count - 1]);
+                point = nextLineStart(channel, point, size, scan);
+                if (point > bounds[count - 1] && point < size) {
+                    bounds[count++] = point;
+                }
+            }
+            bounds[count++] = size;
+            long[] result = new long[count];
+            System.arraycopy(bounds, 0, result, 0, count);
+            return result;
+        }
+    } // End splitPoints method
+
+    // Returns the offset just past the first line terminator at or after a position, or the size
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer scan)
+            throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        // A split point just past a terminator is already a line start
+        long from = position - 1;
+        while (from < size) {
+            scan.clear();
+            int read = channel.read(scan, from);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return from + i + 1;
+                }
+            }
+            from += read;
+        }
+        return size;
+    } // End nextLineStart method
+
+    // Starts a worker process for one shard
+    private Process launch(Path input, long start, long end, Path part) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Main.class.getName());
+        command.add(SHARD_OPTION);
+        command.add(input.toString());
+        command.add(Long.toString(start));
+        command.add(Long.toString(end));
+        command.add(part.toString());
+        return new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    } // End launch method
+
+    /*
+     * Waits for every worker to exit, in whatever order they finish, and fails as soon as any
+     * of them exits with an error, without waiting for the others; the caller then stops them.
+     */
+    private static void awaitWorkers(Process[] processes) throws IOException {
+        boolean[] exited = new boolean[processes.length];
+        int running = processes.length;
+        while (running > 0) {
+            List<CompletableFuture<Process>> pending = new ArrayList<>(running);
+            for (int i = 0; i < processes.length; i++) {
+                if (!exited[i]) {
+                    pending.add(processes[i].onExit());
+                }
+            }
+            try {
+                CompletableFuture.anyOf(pending.toArray(new CompletableFuture<?>[0])).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the shards", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Failed while waiting for the shards", e.getCause());
+            }
+
+            for (int i = 0; i < processes.length; i++) {
+                if (!exited[i] && !processes[i].isAlive()) {
+                    exited[i] = true;
+                    running--;
+                    int exitCode = processes[i].exitValue();
+                    if (exitCode != 0) {
+                        throw new IOException("Shard " + i + " failed with exit code " + exitCode);
+                    }
+                }
+            }
+        } // End while loop
+    } // End awaitWorkers method
+
+    // Reads the record count a worker that has exited successfully reported
+    private static long reportedCount(Process process, int shard) throws IOException {
+        String reported;
+        try (InputStream stdout = process.getInputStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(stdout, StandardCharsets.US_ASCII))) {
+            reported = reader.readLine();
+        }
+        if (reported == null) {
+            throw new IOException("Shard " + shard + " did not report a record count");
+        }
+        try {
+            return Long.parseLong(reported.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Shard " + shard + " reported an invalid record count: " + reported);
+        }
+    } // End reportedCount method
+
+    // Writes the results header followed by every part file, in order, to the output
+    private static void merge(Path[] parts, Path output) throws IOException {
+        if (BatchFiles.isCompressedName(output)) {
+            try (OutputStream out = BatchFiles.openOutput(output)) {
+                out.write(CsvBatchProcessor.OUTPUT_HEADER);
+                for (Path part : parts) {
+                    Files.copy(part, out);
+                }
+            }
+            return;
+        }
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.wrap(CsvBatchProcessor.OUTPUT_HEADER);
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (Path part : parts) {
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    for (long position = 0; position < size; ) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        }
+    } // End merge method
+
+} // End ShardedBatchCoordinator class
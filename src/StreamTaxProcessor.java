@@ -0,0 +1,115 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code StreamTaxProcessor} class calculates the tax for an unbounded stream of
+ * filing status and income pairs, such as data piped into the calculator from a shell.
+ * <p>
+ * Each input line holds a filing status (1–5) and a gross income separated by spaces, tabs or
+ * a comma, for example {@code 1 52000} or {@code 4,181250.50}. For every such line the tax is
+ * written to the output on its own line in plain form ({@code 6354.00}), so output line
+ * <i>n</i> answers the <i>n</i>th non-blank input line. Blank lines are skipped.
+ * <p>
+ * One {@link AsciiLineReader} and one output buffer are used for the whole stream, and numbers
+ * are parsed directly from the input bytes. An instance must not be shared between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class StreamTaxProcessor {
+
+    // The size of the input and output buffers
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // The most bytes a single result line needs
+    private static final int MAX_RESULT_LENGTH = 24;
+
+    // Holds output bytes that have not yet been written
+    private final byte[] output = new byte[BUFFER_SIZE];
+
+    /**
+     * Processes the whole input stream. Neither stream is closed, but the output is flushed.
+     *
+     * @param in the status and income pairs
+     * @param out the stream that receives one tax amount per pair
+     * @return the number of pairs processed
+     * @throws IOException if reading or writing fails
+     * @throws IllegalArgumentException if a line is malformed or has an unknown filing status
+     */
+    public long process(InputStream in, OutputStream out) throws IOException {
+        AsciiLineReader lines = new AsciiLineReader(in, BUFFER_SIZE);
+        long lineNumber = 0;
+        long records = 0;
+        int outputLength = 0;
+
+        while (lines.next()) {
+            lineNumber++;
+            byte[] buffer = lines.buffer();
+            int end = lines.lineEnd();
+
+            // Find the status token, the separator run after it, and the income token
+            int statusStart = skipSeparators(buffer, lines.lineStart(), end);
+            if (statusStart == end) {
+                continue;
+            }
+            int statusEnd = skipToken(buffer, statusStart, end);
+            int incomeStart = skipSeparators(buffer, statusEnd, end);
+            int incomeEnd = skipToken(buffer, incomeStart, end);
+            if (incomeStart == end || skipSeparators(buffer, incomeEnd, end) != end) {
+                throw malformed(buffer, lines.lineStart(), end, lineNumber, "expected a filing status and an income");
+            }
+
+            long taxCents;
+            try {
+                int status = AsciiParser.parseInt(buffer, statusStart, statusEnd);
+                taxCents = TaxTableCalculator.calculateCents(status,
+                        AsciiParser.parseCents(buffer, incomeStart, incomeEnd));
+            } catch (IllegalArgumentException e) {
+                throw malformed(buffer, lines.lineStart(), end, lineNumber, e.getMessage());
+            }
+
+            if (output.length - outputLength < MAX_RESULT_LENGTH) {
+                out.write(output, 0, outputLength);
+                outputLength = 0;
+            }
+            outputLength = CurrencyFormatter.writePlain(output, outputLength, taxCents);
+            output[outputLength++] = '\n';
+            records++;
+        } // End while loop
+
+        out.write(output, 0, outputLength);
+        out.flush();
+        return records;
+    } // End process method
+
+    // Returns the index of the first byte in [from, to) that is not a separator, or to
+    private static int skipSeparators(byte[] buffer, int from, int to) {
+        while (from < to && isSeparator(buffer[from])) {
+            from++;
+        }
+        return from;
+    } // End skipSeparators method
+
+    // Returns the index of the first separator in [from, to), or to
+    private static int skipToken(byte[] buffer, int from, int to) {
+        while (from < to && !isSeparator(buffer[from])) {
+            from++;
+        }
+        return from;
+    } // End skipToken method
+
+    // Returns whether the byte separates the status from the income
+    private static boolean isSeparator(byte value) {
+        return value == ' ' || value == '\t' || value == ',';
+    } // End isSeparator method
+
+    // Builds the exception reported for a malformed input line
+    private static IllegalArgumentException malformed(byte[] buffer, int start, int end, long lineNumber,
+                                                      String reason) {
+        return new IllegalArgumentException("Malformed input on line " + lineNumber + " (\""
+                + new String(buffer, start, end - start, StandardCharsets.US_ASCII) + "\"): " + reason);
+    } // End malformed method
+
+} // End StreamTaxProcessor class
@@ -0,0 +1,243 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code TaxHttpServer} class exposes the tax schedules as a JSON HTTP service, built on
+ * the JDK's built-in {@link HttpServer} with one virtual thread per request.
+ * <p>
+ * The service answers {@code GET /tax?status=<1–5>&income=<amount>} with the calculated tax:
+ * <pre>
+ *     {"filingStatus":1,"grossIncome":52000.00,"tax":6354.00,"bracket":2,"marginalRate":0.22,"effectiveRate":0.1222}
+ * </pre>
+ * Parameter values are URL-decoded before they are parsed, so {@code status=%31} is status 1.
+ * The tax is calculated exactly in cents, either on the request's own thread or, when the
+ * server is given a {@link TaxRequestCoalescer}, in a batch with other concurrent requests.
+ * A server given a {@link TaxResultCache} answers repeated requests from it instead.
+ * A missing or malformed parameter or an unknown
+ * filing status is answered with status 400 and {@code {"error":"<reason>"}}, any method
+ * other than GET with status 405, and any path other than {@code /tax} itself, such as
+ * {@code /taxes} or {@code /tax/1}, with status 404.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class TaxHttpServer {
+
+    // The path the service answers on
+    public static final String PATH = "/tax";
+
+    // The port used when none is given
+    public static final int DEFAULT_PORT = 8080;
+
+    // The underlying JDK server
+    private final HttpServer server;
+
+    // Runs each request on its own virtual thread
+    private final ExecutorService executor;
+
+    // Gathers concurrent requests into batches, or null to evaluate each request on its own thread
+    private final TaxRequestCoalescer coalescer;
+
+    // Remembers recent results, or null to calculate every request
+    private final TaxResultCache cache;
+
+    /**
+     * Constructs a TaxHttpServer bound to the given address. The server does not accept
+     * requests until {@link #start()} is called.
+     *
+     * @param address the address to listen on
+     * @throws IOException if the address cannot be bound
+     */
+    public TaxHttpServer(InetSocketAddress address) throws IOException {
+        this(address, null);
+    } // End TaxHttpServer constructor
+
+    /**
+     * Constructs a TaxHttpServer bound to the given address that evaluates its requests in
+     * batches gathered by a coalescer. The coalescer is not closed when the server stops.
+     *
+     * @param address the address to listen on
+     * @param coalescer the coalescer requests are submitted to, or null to evaluate each
+     *                  request on its own thread
+     * @throws IOException if the address cannot be bound
+     */
+    public TaxHttpServer(InetSocketAddress address, TaxRequestCoalescer coalescer) throws IOException {
+        this(address, coalescer, null);
+    } // End TaxHttpServer constructor
+
+    /**
+     * Constructs a TaxHttpServer bound to the given address that answers repeated requests
+     * from a result cache and evaluates the rest, in batches if a coalescer is given.
+     *
+     * @param address the address to listen on
+     * @param coalescer the coalescer cache misses are submitted to, or null to evaluate each
+     *                  request on its own thread
+     * @param cache the cache results are looked up in, or null to calculate every request
+     * @throws IOException if the address cannot be bound
+     */
+    public TaxHttpServer(InetSocketAddress address, TaxRequestCoalescer coalescer, TaxResultCache cache)
+            throws IOException {
+        this.coalescer = coalescer;
+        this.cache = cache;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+    } // End TaxHttpServer constructor
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    } // End start method
+
+    /**
+     * Stops accepting requests, waits up to the given delay for requests in progress to
+     * finish, and then shuts down.
+     *
+     * @param delaySeconds the most time, in seconds, to wait for requests in progress
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.close();
+    } // End stop method
+
+    /**
+     * @return the address the server is listening on
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    } // End getAddress method
+
+    // Answers one request to the tax endpoint
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // A context matches every path that starts with its own, so anything longer is unknown
+            if (!PATH.equals(exchange.getRequestURI().getPath())) {
+                respond(exchange, 404, error("Not found"));
+                return;
+            }
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                respond(exchange, 405, error("Only GET is supported"));
+                return;
+            }
+
+            TaxResult result;
+            try {
+                String query = exchange.getRequestURI().getRawQuery();
+                String status = parameter(query, "status");
+                String income = parameter(query, "income");
+                if (status == null || income == null) {
+                    respond(exchange, 400, error("Both status and income are required"));
+                    return;
+                }
+
+                int filingStatus;
+                try {
+                    filingStatus = Integer.parseInt(status);
+                } catch (NumberFormatException e) {
+                    respond(exchange, 400, error("Filing status must be an integer from 1 to 5"));
+                    return;
+                }
+                byte[] incomeBytes = income.getBytes(StandardCharsets.US_ASCII);
+                result = calculate(filingStatus, AsciiParser.parseCents(incomeBytes, 0, incomeBytes.length));
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, error(e.getMessage()));
+                return;
+            }
+            respond(exchange, 200, appendResult(new StringBuilder(96), result));
+        }
+    } // End handle method
+
+    // Calculates one tax, from the cache or through the coalescer if there is one
+    private TaxResult calculate(int filingStatus, long incomeCents) {
+        if (cache != null) {
+            return cache.get(filingStatus, incomeCents, this::evaluate);
+        }
+        return evaluate(filingStatus, incomeCents);
+    } // End calculate method
+
+    // Evaluates one tax, through the coalescer if there is one
+    private TaxResult evaluate(int filingStatus, long incomeCents) {
+        if (coalescer == null) {
+            return TaxTableCalculator.calculateFromCents(filingStatus, incomeCents);
+        }
+        // Blocking here only parks this request's virtual thread
+        return coalescer.submit(filingStatus, incomeCents).join();
+    } // End evaluate method
+
+    /**
+     * Appends the JSON object describing one result.
+     *
+     * @param sb the builder to append to
+     * @param result the result to describe
+     * @return the builder, for chaining
+     */
+    static StringBuilder appendResult(StringBuilder sb, TaxResult result) {
+        sb.append("{\"filingStatus\":").append(result.filingStatus()).append(",\"grossIncome\":");
+        CurrencyFormatter.appendPlain(sb, CurrencyFormatter.toCents(result.grossIncome())).append(",\"tax\":");
+        CurrencyFormatter.appendPlain(sb, CurrencyFormatter.toCents(result.tax()));
+        sb.append(",\"bracket\":").append(result.bracket());
+        sb.append(",\"marginalRate\":").append(result.marginalRate());
+        // Four decimal places give the effective rate to a hundredth of a percent
+        return sb.append(",\"effectiveRate\":").append(Math.round(result.effectiveRate() * 10_000) / 10_000.0)
+                .append('}');
+    } // End appendResult method
+
+    /*
+     * Returns the URL-decoded value of a query parameter, or null if it is absent. Throws
+     * IllegalArgumentException if the value has a malformed escape.
+     */
+    private static String parameter(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        int start = 0;
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            if (query.startsWith(name, start) && start + name.length() < end
+                    && query.charAt(start + name.length()) == '=') {
+                return URLDecoder.decode(query.substring(start + name.length() + 1, end), StandardCharsets.UTF_8);
+            }
+            start = end + 1;
+        }
+        return null;
+    } // End parameter method
+
+    // Builds the JSON body of an error response
+    private static StringBuilder error(String message) {
+        StringBuilder sb = new StringBuilder("{\"error\":\"");
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c < ' ' ? ' ' : c);
+        }
+        return sb.append("\"}");
+    } // End error method
+
+    // Sends a JSON response
+    private static void respond(HttpExchange exchange, int status, CharSequence body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    } // End respond method
+
+} // End TaxHttpServer class
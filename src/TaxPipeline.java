@@ -0,0 +1,313 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@code TaxPipeline} class runs a CSV batch as four stages on separate threads, so that
+ * reading, calculating, formatting and writing all overlap:
+ * <ol>
+ *     <li>parse: splits the input into lines and parses each record</li>
+ *     <li>compute: calculates the tax of each record exactly in cents</li>
+ *     <li>format: renders each result as a CSV line</li>
+ *     <li>write: writes the rendered lines to the output</li>
+ * </ol>
+ * The stages hand records to each other in batches through bounded ring buffers, so each
+ * hand-off costs one queue operation per batch rather than per record, and a slow stage holds
+ * back the stages before it instead of letting memory grow. A fixed set of batches is
+ * allocated up front and recycled from the write stage back to the parse stage.
+ * <p>
+ * The input and output formats are the same as {@link CsvBatchProcessor}'s, and the output is
+ * identical. After a run, {@link #report()} describes each stage's throughput and how full the
+ * queue in front of it was on average.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class TaxPipeline {
+
+    // The number of records per batch when none is given
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    // The number of batches each queue between two stages can hold when none is given
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+    // The names of the stages, in order
+    private static final String[] STAGE_NAMES = {"parse", "compute", "format", "write"};
+
+    // A block of records handed from stage to stage
+    private static final class Batch {
+        // The ids of the records, copied end to end, and where each one ends
+        byte[] ids = new byte[1 << 16];
+        final int[] idEnds;
+        final int[] statuses;
+        final long[] incomes;
+        final long[] taxes;
+        // The rendered output lines of the batch
+        byte[] formatted = new byte[1 << 16];
+        int formattedLength;
+        int size;
+        // Set on the final batch of the run, which may hold records
+        boolean last;
+
+        Batch(int capacity) {
+            idEnds = new int[capacity];
+            statuses = new int[capacity];
+            incomes = new long[capacity];
+            taxes = new long[capacity];
+        } // End Batch constructor
+    } // End Batch class
+
+    // Per-stage counters; each is written only by its own stage's thread and read after the run
+    private static final class StageStats {
+        long records;
+        long busyNanos;
+        long occupancySum;
+        long occupancySamples;
+        int maxOccupancy;
+    } // End StageStats class
+
+    // The number of records per batch
+    private final int batchSize;
+
+    // The number of batches each queue between two stages can hold
+    private final int queueCapacity;
+
+    // The statistics of the most recent run, indexed like STAGE_NAMES
+    private final StageStats[] stats = new StageStats[STAGE_NAMES.length];
+
+    // The time the most recent run took, in nanoseconds
+    private long elapsedNanos;
+
+    /**
+     * Constructs a TaxPipeline with the default batch size and queue capacity.
+     */
+    public TaxPipeline() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    } // End TaxPipeline constructor
+
+    /**
+     * Constructs a TaxPipeline.
+     *
+     * @param batchSize the number of records per batch
+     * @param queueCapacity the number of batches each queue between two stages can hold
+     */
+    public TaxPipeline(int batchSize, int queueCapacity) {
+        if (batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Batch size and queue capacity must be positive");
+        }
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    } // End TaxPipeline constructor
+
+    /**
+     * Processes a whole CSV stream through the pipeline. Neither stream is closed.
+     *
+     * @param in the taxpayer records
+     * @param out the stream that receives the results
+     * @return the number of records processed
+     * @throws IOException if reading or writing fails
+     * @throws IllegalArgumentException if a record is malformed or has an unknown filing status
+     */
+    public long process(InputStream in, OutputStream out) throws IOException {
+        /*
+         * Queues in front of each stage. Queue 0 holds the empty batches waiting to be filled
+         * and has room for every batch, so returning a batch never blocks; each queue between
+         * two stages holds at most queueCapacity batches. There are enough batches to fill
+         * every such queue with one more in each stage.
+         */
+        int batchCount = queueCapacity * (STAGE_NAMES.length - 1) + STAGE_NAMES.length;
+        List<BlockingQueue<Batch>> queues = new ArrayList<>(STAGE_NAMES.length);
+        queues.add(new ArrayBlockingQueue<>(batchCount));
+        for (int i = 1; i < STAGE_NAMES.length; i++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        for (int i = 0; i < batchCount; i++) {
+            queues.get(0).add(new Batch(batchSize));
+        }
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new StageStats();
+        }
+
+        AsciiLineReader lines = new AsciiLineReader(in);
+        CsvBatchProcessor parser = new CsvBatchProcessor();
+        out.write(CsvBatchProcessor.OUTPUT_HEADER);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[STAGE_NAMES.length];
+        Stage[] stages = {
+                batch -> parse(lines, parser, batch),
+                TaxPipeline::compute,
+                TaxPipeline::format,
+                batch -> out.write(batch.formatted, 0, batch.formattedLength)
+        };
+        long start = System.nanoTime();
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> runStage(index, stages[index], queues, failure, threads),
+                    "tax-pipeline-" + STAGE_NAMES[i]);
+            threads[i].start();
+        }
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the pipeline", e);
+        }
+        elapsedNanos = System.nanoTime() - start;
+
+        Throwable thrown = failure.get();
+        if (thrown instanceof IOException e) {
+            throw e;
+        } else if (thrown instanceof RuntimeException e) {
+            throw e;
+        } else if (thrown != null) {
+            throw new IOException(thrown);
+        }
+        out.flush();
+        return stats[STAGE_NAMES.length - 1].records;
+    } // End process method
+
+    /**
+     * Describes the most recent run: for each stage, the records it handled, its throughput
+     * while busy, the share of the run it was busy, and the average and peak number of batches
+     * waiting in the queue in front of it. The parse stage's queue holds the empty batches
+     * waiting to be refilled, so a low figure there means the later stages are keeping up.
+     *
+     * @return a multi-line report
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < STAGE_NAMES.length; i++) {
+            StageStats stage = stats[i];
+            if (stage == null) {
+                break;
+            }
+            double averageQueue = stage.occupancySamples == 0 ? 0 : (double) stage.occupancySum / stage.occupancySamples;
+            sb.append(String.format("%-8s %,14d records %,16.0f records/s busy %5.1f%% queue avg %5.2f max %d%n",
+                    STAGE_NAMES[i], stage.records,
+                    ParallelTaxCalculator.recordsPerSecond(stage.records, stage.busyNanos),
+                    elapsedNanos == 0 ? 0 : 100.0 * stage.busyNanos / elapsedNanos,
+                    averageQueue, stage.maxOccupancy));
+        }
+        return sb.toString();
+    } // End report method
+
+    // The work one stage does to a batch
+    private interface Stage {
+        void run(Batch batch) throws IOException;
+    } // End Stage interface
+
+    /*
+     * Runs one stage: takes batches from the queue in front of it, processes them and passes
+     * them to the queue of the next stage (the write stage returns them to the parse stage),
+     * until the last batch has passed. A failure stops every stage.
+     */
+    private void runStage(int index, Stage stage, List<BlockingQueue<Batch>> queues,
+                          AtomicReference<Throwable> failure, Thread[] threads) {
+        StageStats stageStats = stats[index];
+        BlockingQueue<Batch> input = queues.get(index);
+        BlockingQueue<Batch> output = queues.get((index + 1) % queues.size());
+        try {
+            boolean last = false;
+            while (!last) {
+                int occupancy = input.size();
+                stageStats.occupancySum += occupancy;
+                stageStats.occupancySamples++;
+                stageStats.maxOccupancy = Math.max(stageStats.maxOccupancy, occupancy);
+
+                Batch batch = input.take();
+                long start = System.nanoTime();
+                stage.run(batch);
+                stageStats.busyNanos += System.nanoTime() - start;
+                stageStats.records += batch.size;
+                last = batch.last;
+                output.put(batch);
+            }
+        } catch (InterruptedException e) {
+            // Another stage failed and interrupted this one
+        } catch (Throwable e) {
+            if (failure.compareAndSet(null, e)) {
+                for (Thread thread : threads) {
+                    if (thread != Thread.currentThread()) {
+                        thread.interrupt();
+                    }
+                }
+            }
+        }
+    } // End runStage method
+
+    // Fills a batch with parsed records, marking it last when the input ends
+    private void parse(AsciiLineReader lines, CsvBatchProcessor parser, Batch batch) throws IOException {
+        batch.size = 0;
+        batch.last = false;
+        int idLength = 0;
+        while (batch.size < batchSize) {
+            if (!lines.next()) {
+                batch.last = true;
+                return;
+            }
+            byte[] buffer = lines.buffer();
+            int start = lines.lineStart();
+            if (!parser.parseLine(buffer, start, lines.lineEnd())) {
+                continue;
+            }
+
+            int length = parser.parsedIdEnd - start;
+            if (batch.ids.length - idLength < length) {
+                batch.ids = Arrays.copyOf(batch.ids, Math.max(batch.ids.length * 2, idLength + length));
+            }
+            System.arraycopy(buffer, start, batch.ids, idLength, length);
+            idLength += length;
+
+            int i = batch.size++;
+            batch.idEnds[i] = idLength;
+            batch.statuses[i] = parser.parsedStatus;
+            batch.incomes[i] = parser.parsedIncomeCents;
+        } // End while loop
+    } // End parse method
+
+    // Calculates the tax of every record in a batch
+    private static void compute(Batch batch) {
+        TaxTableCalculator.calculateBatchCents(batch.statuses, batch.incomes, batch.taxes, 0, batch.size);
+    } // End compute method
+
+    // Renders every record of a batch as a CSV line
+    private static void format(Batch batch) {
+        int idLength = batch.size == 0 ? 0 : batch.idEnds[batch.size - 1];
+        int needed = idLength + batch.size * CsvBatchProcessor.MAX_RECORD_OVERHEAD;
+        if (batch.formatted.length < needed) {
+            batch.formatted = new byte[needed];
+        }
+
+        byte[] output = batch.formatted;
+        int position = 0;
+        int idStart = 0;
+        for (int i = 0; i < batch.size; i++) {
+            int idEnd = batch.idEnds[i];
+            System.arraycopy(batch.ids, idStart, output, position, idEnd - idStart);
+            position += idEnd - idStart;
+            idStart = idEnd;
+            output[position++] = ',';
+            position = CurrencyFormatter.writeLong(output, position, batch.statuses[i]);
+            output[position++] = ',';
+            position = CurrencyFormatter.writePlain(output, position, batch.incomes[i]);
+            output[position++] = ',';
+            position = CurrencyFormatter.writePlain(output, position, batch.taxes[i]);
+            output[position++] = '\n';
+        }
+        batch.formattedLength = position;
+    } // End format method
+
+} // End TaxPipeline class
@@ -0,0 +1,322 @@
+/**
+ * The {@code TaxProjectionEngine} class projects the tax schedules of future years from the
+ * {@value TaxTableCalculator#TAX_YEAR} thresholds by indexing them to inflation, and
+ * evaluates populations of taxpayers against each projected year.
+ * <p>
+ * A projection takes a path of consumer price index levels, one per future year. The
+ * thresholds of each year are the {@value TaxTableCalculator#TAX_YEAR} thresholds scaled by
+ * the ratio of that year's index level to the base level and rounded down to the next lowest
+ * multiple of $50, or of $25 for married filing separately, as section 1(f)(7) of the
+ * Internal Revenue Code provides. The single thresholds that are half of the joint ones are
+ * rounded to $25 as well, as the IRS Revenue Procedures publish them. The rates do not
+ * change. Each year is always scaled from the base thresholds, so rounding never compounds
+ * from one year to the next. A projected threshold must stay below
+ * {@value Integer#MAX_VALUE} dollars.
+ * <p>
+ * Long-range planning runs project thousands of schedules, so an engine allocates all of its
+ * tables once, for a fixed maximum number of years, and every projection overwrites them in
+ * place. The projected thresholds and base taxes are held as flat {@code long} arrays in
+ * cents, and the evaluation methods work on them directly, so neither projecting nor
+ * evaluating allocates anything per year or per taxpayer. A projected year can also be turned
+ * into {@link TaxSchedule}s, for example to {@linkplain #register register} it with the
+ * {@link TaxScheduleRegistry}.
+ * <p>
+ * An engine must not be shared between threads while a projection is running.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class TaxProjectionEngine {
+
+    // The year the projections start from
+    public static final int BASE_YEAR = TaxTableCalculator.TAX_YEAR;
+
+    // The number of filing statuses and the most brackets any of their schedules has
+    private static final int STATUSES = 5;
+    private static final int MAX_BRACKETS = 7;
+
+    // Allows for floating-point error when a scaled threshold lands on a rounding multiple
+    private static final double ROUNDING_TOLERANCE = 1e-6;
+
+    // The filing statuses the rounding rules below refer to
+    private static final int SINGLE = 1;
+    private static final int MARRIED_FILING_SEPARATELY = 3;
+    private static final int MARRIED_FILING_JOINTLY = 4;
+
+    // The base thresholds in whole dollars and the rates, indexed by filing status (index 0 is unused)
+    private static final int[][] BASE_THRESHOLDS = new int[STATUSES + 1][];
+    private static final int[][] RATE_PERCENTS = new int[STATUSES + 1][];
+
+    /*
+     * The multiple, in dollars, each threshold is rounded down to, indexed like
+     * BASE_THRESHOLDS. IRC section 1(f)(7)(A) rounds every inflation adjustment down to a
+     * multiple of $50, and section 1(f)(7)(B) substitutes $25 for married individuals filing
+     * separately. The Revenue Procedures set each single threshold below the top bracket at
+     * half of the joint one, which leaves it a multiple of $25, so those are rounded to $25
+     * too; the top single threshold, $626,350 in 2025, is not half the joint one and is
+     * rounded to $50. Head of household, joint, and estates and trusts round to $50.
+     */
+    private static final int[][] ROUNDING_MULTIPLES = new int[STATUSES + 1][];
+
+    // The largest base threshold of any filing status, in whole dollars
+    private static final int MAX_BASE_THRESHOLD;
+
+    static {
+        for (int status = 1; status <= STATUSES; status++) {
+            TaxSchedule schedule = TaxTableCalculator.schedule(status);
+            int brackets = schedule.bracketCount();
+            BASE_THRESHOLDS[status] = new int[brackets - 1];
+            RATE_PERCENTS[status] = new int[brackets];
+            for (int i = 0; i < brackets; i++) {
+                RATE_PERCENTS[status][i] = schedule.ratePercent(i);
+                if (i > 0) {
+                    BASE_THRESHOLDS[status][i - 1] = (int) (schedule.lowerBoundCents(i) / 100);
+                }
+            }
+        }
+
+        int max = 0;
+        int[] joint = BASE_THRESHOLDS[MARRIED_FILING_JOINTLY];
+        for (int status = 1; status <= STATUSES; status++) {
+            int[] thresholds = BASE_THRESHOLDS[status];
+            ROUNDING_MULTIPLES[status] = new int[thresholds.length];
+            for (int i = 0; i < thresholds.length; i++) {
+                boolean halfOfJoint = status == SINGLE && i < joint.length && 2L * thresholds[i] == joint[i];
+                ROUNDING_MULTIPLES[status][i] = status == MARRIED_FILING_SEPARATELY || halfOfJoint ? 25 : 50;
+                max = Math.max(max, thresholds[i]);
+            }
+        }
+        MAX_BASE_THRESHOLD = max;
+    }
+
+    // The most years one projection can hold
+    private final int maxYears;
+
+    // The number of years in the current projection
+    private int years;
+
+    /*
+     * The lower bound and the exact base tax of every bracket, in cents, for every projected
+     * year and filing status, laid out by (year, status - 1, bracket) with MAX_BRACKETS slots
+     * per status.
+     */
+    private final long[] lowerBoundsCents;
+    private final long[] baseTaxCents;
+
+    /**
+     * Constructs a TaxProjectionEngine and allocates its tables.
+     *
+     * @param maxYears the most years one projection can hold
+     */
+    public TaxProjectionEngine(int maxYears) {
+        if (maxYears < 1) {
+            throw new IllegalArgumentException("An engine must hold at least one year");
+        }
+        this.maxYears = maxYears;
+        this.lowerBoundsCents = new long[maxYears * STATUSES * MAX_BRACKETS];
+        this.baseTaxCents = new long[maxYears * STATUSES * MAX_BRACKETS];
+    } // End TaxProjectionEngine constructor
+
+    /**
+     * Projects the schedules of the years after {@value #BASE_YEAR}, replacing any earlier
+     * projection. Year {@code BASE_YEAR + 1 + k} is indexed by {@code cpiPath[k] / baseCpi}.
+     *
+     * @param baseCpi the price index level the {@value #BASE_YEAR} thresholds correspond to
+     * @param cpiPath the price index level of each projected year, in order
+     * @param years the number of years to project, from the start of the path
+     * @throws IllegalArgumentException if more years are asked for than the path or the engine
+     *                                  holds, an index level is not positive and finite, or a
+     *                                  projected threshold would reach {@value Integer#MAX_VALUE}
+     *                                  dollars, in which case the previous projection is left
+     *                                  unchanged
+     */
+    public void project(double baseCpi, double[] cpiPath, int years) {
+        if (years < 0 || years > maxYears || years > cpiPath.length) {
+            throw new IllegalArgumentException("Cannot project " + years + " years");
+        }
+        // Check the whole path before overwriting anything, so a bad path leaves the last projection intact
+        if (!(baseCpi > 0) || Double.isInfinite(baseCpi)) {
+            throw new IllegalArgumentException("The base index level must be positive and finite");
+        }
+        for (int year = 0; year < years; year++) {
+            double ratio = cpiPath[year] / baseCpi;
+            if (!(ratio > 0) || Double.isInfinite(ratio)) {
+                throw new IllegalArgumentException("The index level of year " + taxYear(year)
+                        + " must be positive and finite");
+            }
+            // Projected thresholds are built into TaxSchedules, which hold them as int dollars
+            if (MAX_BASE_THRESHOLD * ratio >= Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The index level of year " + taxYear(year) + " is "
+                        + ratio + " times the base level, which would raise a threshold past $"
+                        + Integer.MAX_VALUE);
+            }
+        }
+
+        for (int year = 0; year < years; year++) {
+            double ratio = cpiPath[year] / baseCpi;
+            for (int status = 1; status <= STATUSES; status++) {
+                int[] thresholds = BASE_THRESHOLDS[status];
+                int[] rates = RATE_PERCENTS[status];
+                int[] multiples = ROUNDING_MULTIPLES[status];
+                int slot = slot(year, status);
+                long previous = 0;
+                for (int i = 1; i <= thresholds.length; i++) {
+                    int multiple = multiples[i - 1];
+                    long dollars = (long) (thresholds[i - 1] * ratio / multiple + ROUNDING_TOLERANCE) * multiple;
+                    // Keep the brackets strictly increasing even under extreme deflation
+                    dollars = Math.max(dollars, previous + multiple);
+                    lowerBoundsCents[slot + i] = dollars * 100;
+                    baseTaxCents[slot + i] = baseTaxCents[slot + i - 1] + (dollars - previous) * rates[i - 1];
+                    previous = dollars;
+                }
+            } // End for loop over filing statuses
+        } // End for loop over years
+        this.years = years;
+    } // End project method
+
+    /**
+     * @return the number of years in the current projection
+     */
+    public int getYears() {
+        return years;
+    } // End getYears method
+
+    /**
+     * @param yearIndex the index of a projected year, 0 for the year after {@value #BASE_YEAR}
+     * @return the calendar tax year of the index
+     */
+    public static int taxYear(int yearIndex) {
+        return BASE_YEAR + 1 + yearIndex;
+    } // End taxYear method
+
+    /**
+     * Returns a projected threshold.
+     *
+     * @param yearIndex the index of a projected year, 0 for the year after {@value #BASE_YEAR}
+     * @param filingStatus an integer (1–5) representing a filing status
+     * @param bracket the zero-based index of a bracket above the first
+     * @return the bracket's lower bound in whole dollars
+     */
+    public long threshold(int yearIndex, int filingStatus, int bracket) {
+        return lowerBoundsCents[checkedSlot(yearIndex, filingStatus) + bracket] / 100;
+    } // End threshold method
+
+    /**
+     * Calculates the exact tax, in cents, under a projected year's schedule.
+     *
+     * @param yearIndex the index of a projected year, 0 for the year after {@value #BASE_YEAR}
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return the calculated tax in cents, rounded half-up
+     * @throws IllegalArgumentException if the year is not projected or the filing status is
+     *                                  not between 1 and 5
+     */
+    public long taxCents(int yearIndex, int filingStatus, long incomeCents) {
+        return taxCents(checkedSlot(yearIndex, filingStatus), RATE_PERCENTS[filingStatus], incomeCents);
+    } // End taxCents method
+
+    /**
+     * Calculates the exact tax, in cents, under a projected year's schedules for the records
+     * in {@code [from, to)} of a population with individual filing statuses.
+     *
+     * @param yearIndex the index of a projected year, 0 for the year after {@value #BASE_YEAR}
+     * @param statuses the filing status (1–5) of each taxpayer
+     * @param incomeCents the gross income of each taxpayer in cents
+     * @param out the array that receives the calculated tax in cents
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     * @throws IllegalArgumentException if the year is not projected or any filing status is
+     *                                  not between 1 and 5
+     */
+    public void evaluate(int yearIndex, int[] statuses, long[] incomeCents, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int status = statuses[i];
+            out[i] = taxCents(checkedSlot(yearIndex, status), RATE_PERCENTS[status], incomeCents[i]);
+        }
+    } // End evaluate method
+
+    /**
+     * Calculates the total tax, in cents, that the records in {@code [from, to)} of a
+     * population owe under each projected year's schedules, writing the total for year index
+     * {@code k} to {@code totalsCents[k]}.
+     *
+     * @param statuses the filing status (1–5) of each taxpayer
+     * @param incomeCents the gross income of each taxpayer in cents
+     * @param totalsCents the array that receives the total tax of each projected year in cents
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     * @throws IllegalArgumentException if any filing status is not between 1 and 5
+     */
+    public void totalsByYear(int[] statuses, long[] incomeCents, long[] totalsCents, int from, int to) {
+        for (int year = 0; year < years; year++) {
+            long total = 0;
+            for (int i = from; i < to; i++) {
+                int status = statuses[i];
+                total += taxCents(checkedSlot(year, status), RATE_PERCENTS[status], incomeCents[i]);
+            }
+            totalsCents[year] = total;
+        }
+    } // End totalsByYear method
+
+    /**
+     * Builds the {@link TaxSchedule} of a projected year and filing status.
+     *
+     * @param yearIndex the index of a projected year, 0 for the year after {@value #BASE_YEAR}
+     * @param filingStatus an integer (1–5) representing a filing status
+     * @return a schedule with the projected thresholds
+     * @throws IllegalArgumentException if the year is not projected or the filing status is
+     *                                  not between 1 and 5
+     */
+    public TaxSchedule schedule(int yearIndex, int filingStatus) {
+        int slot = checkedSlot(yearIndex, filingStatus);
+        int[] thresholds = new int[BASE_THRESHOLDS[filingStatus].length];
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = Math.toIntExact(lowerBoundsCents[slot + i + 1] / 100);
+        }
+        return new TaxSchedule(thresholds, RATE_PERCENTS[filingStatus]);
+    } // End schedule method
+
+    /**
+     * Registers a projected year's schedules with the {@link TaxScheduleRegistry}, so the
+     * calculator methods that take a year can use them.
+     *
+     * @param yearIndex the index of a projected year, 0 for the year after {@value #BASE_YEAR}
+     * @throws IllegalArgumentException if the year is not projected, is later than
+     *                                  {@value TaxScheduleRegistry#LAST_YEAR} or is already
+     *                                  registered
+     */
+    public void register(int yearIndex) {
+        TaxSchedule[] schedules = new TaxSchedule[STATUSES + 1];
+        for (int status = 1; status <= STATUSES; status++) {
+            schedules[status] = schedule(yearIndex, status);
+        }
+        TaxScheduleRegistry.register(taxYear(yearIndex), schedules);
+    } // End register method
+
+    // Calculates the tax on an income from the tables of one year and status, as TaxSchedule does
+    private long taxCents(int slot, int[] rates, long incomeCents) {
+        int bracket = rates.length - 1;
+        while (bracket > 0 && incomeCents <= lowerBoundsCents[slot + bracket]) {
+            bracket--;
+        }
+        long bracketTax = (incomeCents - lowerBoundsCents[slot + bracket]) * rates[bracket];
+        return baseTaxCents[slot + bracket] + Math.floorDiv(bracketTax + 50, 100);
+    } // End taxCents method
+
+    // Returns the first table slot of a year and status, rejecting unprojected years and unknown statuses
+    private int checkedSlot(int yearIndex, int filingStatus) {
+        if (yearIndex < 0 || yearIndex >= years) {
+            throw new IllegalArgumentException("Year index " + yearIndex + " has not been projected");
+        }
+        if (filingStatus < 1 || filingStatus > STATUSES) {
+            throw new IllegalArgumentException("Unknown filing status: " + filingStatus);
+        }
+        return slot(yearIndex, filingStatus);
+    } // End checkedSlot method
+
+    // Returns the first table slot of a year and status
+    private static int slot(int yearIndex, int filingStatus) {
+        return (yearIndex * STATUSES + filingStatus - 1) * MAX_BRACKETS;
+    } // End slot method
+
+} // End TaxProjectionEngine class
@@ -0,0 +1,232 @@
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code TaxRequestCoalescer} class gathers single tax requests from many concurrent
+ * callers into small batches and evaluates each batch in one tight loop over the bracket
+ * tables, calculating each tax exactly in cents.
+ * <p>
+ * A batch is closed as soon as it holds {@code maxBatchSize} requests or {@code maxDelay}
+ * has passed since its first request arrived, whichever comes first. Larger batches and
+ * longer delays amortize more dispatch overhead per request; smaller ones keep the added
+ * latency low. A single worker thread evaluates the batches and completes each caller's
+ * future, so callers never run the calculation themselves.
+ * <p>
+ * All methods are safe to call from any number of threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class TaxRequestCoalescer implements AutoCloseable {
+
+    // The batch size used when none is given
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    // The longest time, in microseconds, a request waits for its batch to fill when none is given
+    public static final long DEFAULT_MAX_DELAY_MICROS = 200;
+
+    // One caller's request and the future that receives its result
+    private record Request(int filingStatus, long incomeCents, CompletableFuture<TaxResult> result) {
+    } // End Request record
+
+    // The largest number of requests evaluated together
+    private final int maxBatchSize;
+
+    // The longest time, in nanoseconds, a request waits for its batch to fill
+    private final long maxDelayNanos;
+
+    // Requests waiting to be gathered into a batch
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+
+    // The thread that gathers and evaluates batches
+    private final Thread worker;
+
+    // Reused by the worker for every batch, so evaluating a batch allocates nothing
+    private final Request[] batch;
+    private final int[] brackets;
+    private final long[] taxes;
+
+    // Counters describing the batches evaluated so far
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    // Set once close() has been called
+    private volatile boolean closed;
+
+    /**
+     * Constructs a TaxRequestCoalescer with the default batch size and delay.
+     */
+    public TaxRequestCoalescer() {
+        this(DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MICROS, TimeUnit.MICROSECONDS);
+    } // End TaxRequestCoalescer constructor
+
+    /**
+     * Constructs a TaxRequestCoalescer and starts its worker thread.
+     *
+     * @param maxBatchSize the largest number of requests evaluated together
+     * @param maxDelay the longest time a request waits for its batch to fill
+     * @param unit the unit of {@code maxDelay}
+     */
+    public TaxRequestCoalescer(int maxBatchSize, long maxDelay, TimeUnit unit) {
+        if (maxBatchSize < 1 || maxDelay < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and delay not negative");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.batch = new Request[maxBatchSize];
+        this.brackets = new int[maxBatchSize];
+        this.taxes = new long[maxBatchSize];
+
+        this.worker = new Thread(this::run, "tax-request-coalescer");
+        worker.setDaemon(true);
+        worker.start();
+    } // End TaxRequestCoalescer constructor
+
+    /**
+     * Submits one request for evaluation in the next batch.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return a future that receives the result once the request's batch has been evaluated
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     * @throws IllegalStateException if the coalescer has been closed
+     */
+    public CompletableFuture<TaxResult> submit(int filingStatus, long incomeCents) {
+        // Reject a bad status now, so one caller's mistake cannot fail a whole batch
+        TaxTableCalculator.schedule(filingStatus);
+        if (closed) {
+            throw new IllegalStateException("The coalescer has been closed");
+        }
+        CompletableFuture<TaxResult> result = new CompletableFuture<>();
+        queue.add(new Request(filingStatus, incomeCents, result));
+        if (closed) {
+            failPending(); // close() may have finished draining before this request was added
+        }
+        return result;
+    } // End submit method
+
+    /**
+     * @return the largest number of requests evaluated together
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    } // End getMaxBatchSize method
+
+    /**
+     * @return the longest time, in nanoseconds, a request waits for its batch to fill
+     */
+    public long getMaxDelayNanos() {
+        return maxDelayNanos;
+    } // End getMaxDelayNanos method
+
+    /**
+     * @return the number of batches evaluated so far
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    } // End getBatchCount method
+
+    /**
+     * @return the average number of requests per batch evaluated so far
+     */
+    public double getAverageBatchSize() {
+        long batches = batchCount.get();
+        return batches == 0 ? 0 : (double) requestCount.get() / batches;
+    } // End getAverageBatchSize method
+
+    /**
+     * Stops the worker thread. Requests that have not yet been evaluated fail with an
+     * {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPending();
+    } // End close method
+
+    // Fails every request still waiting in the queue
+    private void failPending() {
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.result().completeExceptionally(new IllegalStateException("The coalescer has been closed"));
+        }
+    } // End failPending method
+
+    // Gathers and evaluates batches until the coalescer is closed
+    private void run() {
+        try {
+            while (!closed) {
+                int size = gather();
+                evaluate(size);
+            }
+        } catch (InterruptedException e) {
+            // close() interrupts the worker to stop it; fail any requests already gathered
+            for (int i = 0; i < batch.length && batch[i] != null; i++) {
+                batch[i].result().completeExceptionally(new IllegalStateException("The coalescer has been closed"));
+                batch[i] = null;
+            }
+        }
+    } // End run method
+
+    // Waits for a first request, then gathers more until the batch is full or its delay has passed
+    private int gather() throws InterruptedException {
+        batch[0] = queue.take();
+        int size = 1;
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (size < maxBatchSize) {
+            size += drain(size);
+            long remaining = deadline - System.nanoTime();
+            if (size == maxBatchSize || remaining <= 0) {
+                break;
+            }
+            Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch[size++] = next;
+        }
+        return size;
+    } // End gather method
+
+    // Moves requests that are already waiting into the batch without blocking
+    private int drain(int size) {
+        int added = 0;
+        Request next;
+        while (size + added < maxBatchSize && (next = queue.poll()) != null) {
+            batch[size + added++] = next;
+        }
+        return added;
+    } // End drain method
+
+    // Evaluates the gathered batch in one loop and completes every caller's future
+    private void evaluate(int size) {
+        for (int i = 0; i < size; i++) {
+            TaxSchedule schedule = TaxTableCalculator.schedule(batch[i].filingStatus());
+            long incomeCents = batch[i].incomeCents();
+            int bracket = schedule.bracketIndexCents(incomeCents);
+            brackets[i] = bracket;
+            taxes[i] = schedule.taxCents(incomeCents, bracket);
+        }
+
+        // Complete the futures only after the loop, since completing one may run caller code
+        for (int i = 0; i < size; i++) {
+            Request request = batch[i];
+            batch[i] = null;
+            request.result().complete(TaxResult.fromSchedule(request.filingStatus(),
+                    TaxTableCalculator.schedule(request.filingStatus()), request.incomeCents() / 100.0,
+                    taxes[i] / 100.0, brackets[i]));
+        }
+        batchCount.incrementAndGet();
+        requestCount.addAndGet(size);
+    } // End evaluate method
+
+} // End TaxRequestCoalescer class
@@ -0,0 +1,56 @@
+/**
+ * The {@code TaxResult} record holds the outcome of one tax calculation: the filing status
+ * and gross income it was calculated for, the tax owed, the bracket the income fell into, and
+ * the marginal and effective rates. All of them come from the same single evaluation of the
+ * schedule, so callers never need to look up the thresholds again to derive a rate.
+ * <p>
+ * Results are immutable, so they can be cached, shared between threads and handed to other
+ * components without copying.
+ *
+ * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+ * @param grossIncome the gross income the tax was calculated for
+ * @param tax the calculated tax
+ * @param bracket the zero-based index of the bracket the income fell into
+ * @param marginalRate the rate of that bracket as a fraction, such as 0.22 for 22%
+ * @param effectiveRate the tax as a fraction of the gross income, or 0 for no income
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public record TaxResult(int filingStatus, double grossIncome, double tax, int bracket,
+                        double marginalRate, double effectiveRate) {
+
+    /**
+     * Creates the result of evaluating a schedule, taking the marginal rate from the bracket
+     * and working out the effective rate from the tax and income.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param schedule the schedule the tax was calculated with
+     * @param grossIncome the gross income the tax was calculated for
+     * @param tax the calculated tax
+     * @param bracket the zero-based index of the bracket the income fell into
+     * @return the result
+     */
+    public static TaxResult fromSchedule(int filingStatus, TaxSchedule schedule, double grossIncome,
+                                         double tax, int bracket) {
+        return new TaxResult(filingStatus, grossIncome, tax, bracket, schedule.rate(bracket),
+                effectiveRate(tax, grossIncome));
+    } // End fromSchedule method
+
+    /**
+     * @param tax the calculated tax
+     * @param grossIncome the gross income the tax was calculated for
+     * @return the tax as a fraction of the income, or 0 if the income is not positive
+     */
+    public static double effectiveRate(double tax, double grossIncome) {
+        return grossIncome > 0 ? tax / grossIncome : 0;
+    } // End effectiveRate method
+
+    /**
+     * @return the display name of this result's filing status
+     */
+    public String filingStatusName() {
+        return TaxTableCalculator.filingStatusName(filingStatus);
+    } // End filingStatusName method
+
+} // End TaxResult record
@@ -0,0 +1,244 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code TaxResultCache} class remembers recently calculated results, keyed by filing
+ * status and gross income in cents, so that repeated requests for the same figures skip both
+ * the calculation and the building of the display message.
+ * <p>
+ * The cache holds at most {@code maxEntries} results and evicts the least recently used one
+ * when it is full. To keep concurrent lookups from queueing behind one another, the entries
+ * are spread over independent segments by key, each with its own lock and its own share of
+ * the capacity, so threads looking up different incomes rarely contend. Hits and misses are
+ * counted with {@link LongAdder}s, which also do not contend.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public class TaxResultCache {
+
+    // The number of independently locked segments; a power of two
+    private static final int SEGMENT_COUNT = 16;
+
+    /**
+     * Calculates the result for a taxpayer whose result is not cached.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+         * @param incomeCents the gross income of the taxpayer in cents
+         * @return the calculated result
+         */
+        TaxResult load(int filingStatus, long incomeCents);
+    } // End Loader interface
+
+    /**
+     * A cached result and, once it has been asked for, its display message. Taking both from
+     * one entry costs a single lookup.
+     */
+    public static final class Entry {
+        private final TaxResult result;
+        private volatile String message;
+
+        Entry(TaxResult result) {
+            this.result = result;
+        } // End Entry constructor
+
+        /**
+         * @return the cached result
+         */
+        public TaxResult result() {
+            return result;
+        } // End result method
+
+        /**
+         * Returns the message {@link TaxTableCalculator#getTaxRate()} displays for the result,
+         * building and caching it if it has not been built before.
+         *
+         * @return the display message
+         */
+        public String message() {
+            String built = message;
+            if (built == null) {
+                // Two threads may both build it; the messages are identical, so either may win
+                built = TaxTableCalculator.appendMessage(new StringBuilder(160), result).toString();
+                message = built;
+            }
+            return built;
+        } // End message method
+    } // End Entry class
+
+    // One independently locked, access-ordered share of the cache
+    private static final class Segment extends LinkedHashMap<Long, Entry> {
+        // LinkedHashMap is Serializable, although a segment is never serialized
+        private static final long serialVersionUID = 1L;
+
+        final ReentrantLock lock = new ReentrantLock();
+        final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        } // End Segment constructor
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > capacity;
+        } // End removeEldestEntry method
+    } // End Segment class
+
+    // The segments the entries are spread over
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    // The largest number of results held
+    private final int maxEntries;
+
+    // Lookup counters
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs an empty TaxResultCache.
+     *
+     * @param maxEntries the largest number of results held; at least {@value #SEGMENT_COUNT}
+     */
+    public TaxResultCache(int maxEntries) {
+        if (maxEntries < SEGMENT_COUNT) {
+            throw new IllegalArgumentException("A cache needs room for at least " + SEGMENT_COUNT + " entries");
+        }
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            // Spread the capacity so the segments add up to exactly maxEntries
+            segments[i] = new Segment(maxEntries / SEGMENT_COUNT + (i < maxEntries % SEGMENT_COUNT ? 1 : 0));
+        }
+    } // End TaxResultCache constructor
+
+    /**
+     * Returns the result for a taxpayer, calculating and caching it if it is not cached.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return the calculated result
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public TaxResult get(int filingStatus, long incomeCents) {
+        return lookup(filingStatus, incomeCents).result();
+    } // End get method
+
+    /**
+     * Returns the result for a taxpayer, calculating it with the given loader and caching it
+     * if it is not cached.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @param loader calculates the result on a miss
+     * @return the calculated result
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public TaxResult get(int filingStatus, long incomeCents, Loader loader) {
+        return lookup(filingStatus, incomeCents, loader).result();
+    } // End get method
+
+    /**
+     * Looks up the entry for a taxpayer once, calculating and caching it if it is not cached,
+     * so that both its result and its message can be taken from the one lookup.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return the cached entry
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public Entry lookup(int filingStatus, long incomeCents) {
+        return lookup(filingStatus, incomeCents, TaxTableCalculator::calculateFromCents);
+    } // End lookup method
+
+    /**
+     * Returns the message {@link TaxTableCalculator#getTaxRate()} displays for a taxpayer,
+     * building and caching it if it has not been built before.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return the display message
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public String message(int filingStatus, long incomeCents) {
+        return lookup(filingStatus, incomeCents).message();
+    } // End message method
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    } // End getHitCount method
+
+    /**
+     * @return the number of lookups that had to calculate their result
+     */
+    public long getMissCount() {
+        return misses.sum();
+    } // End getMissCount method
+
+    /**
+     * @return the largest number of results held
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    } // End getMaxEntries method
+
+    /**
+     * @return the number of results currently held
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    } // End size method
+
+    // Looks up the entry for a key, calculating it with the loader outside the lock on a miss
+    private Entry lookup(int filingStatus, long incomeCents, Loader loader) {
+        TaxTableCalculator.schedule(filingStatus);
+        // The status fits in the low three bits, so every (status, income) pair has its own key
+        long key = (incomeCents << 3) | filingStatus;
+        Segment segment = segments[spread(key)];
+
+        Entry entry;
+        segment.lock.lock();
+        try {
+            entry = segment.get(key);
+        } finally {
+            segment.lock.unlock();
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        Entry calculated = new Entry(loader.load(filingStatus, incomeCents));
+        segment.lock.lock();
+        try {
+            entry = segment.putIfAbsent(key, calculated);
+        } finally {
+            segment.lock.unlock();
+        }
+        return entry != null ? entry : calculated;
+    } // End lookup method
+
+    // Chooses the segment for a key, mixing the bits so round-number incomes spread evenly
+    private static int spread(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 60) & (SEGMENT_COUNT - 1);
+    } // End spread method
+
+} // End TaxResultCache class
@@ -0,0 +1,335 @@
+/**
+ * The {@code TaxSchedule} class holds one progressive tax rate schedule (for example the
+ * 2025 schedule for unmarried individuals) in table form.
+ * <p>
+ * A schedule is described by the lower threshold of every bracket above the first and the
+ * rate applied to each bracket. When the schedule is constructed, the base tax owed on all
+ * income below each threshold is summed once and stored alongside it, so evaluating the
+ * tax for any income is a single bracket lookup followed by one multiply and one add:
+ * <pre>
+ *     tax = baseTax[bracket] + (income - lowerBound[bracket]) * rate[bracket]
+ * </pre>
+ * The same tables are also kept in whole cents, so a tax can be calculated exactly in
+ * {@code long} arithmetic with {@link #taxCents(long)}. Because every threshold is a whole
+ * dollar amount and every rate a whole percentage, the base tax of each bracket is an exact
+ * number of cents, and the only rounding is the single half-up rounding of the portion of
+ * income in the top bracket.
+ * <p>
+ * Because the tax, and so the net income left after it, is linear within each bracket, the
+ * schedule can also be inverted in constant time: {@link #incomeForTax} and
+ * {@link #incomeForNet} find the bracket whose base amounts bound the target and solve its
+ * line for the income, without evaluating the schedule repeatedly.
+ * <p>
+ * Instances are immutable and may be shared freely between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class TaxSchedule {
+
+    // The lower bound (in whole dollars) of each bracket; the first bracket starts at zero
+    private final double[] lowerBounds;
+
+    // The rate applied to income in each bracket, as a fraction (0.10 for 10%)
+    private final double[] rates;
+
+    // The rate applied to income in each bracket, as a whole percentage (10 for 10%)
+    private final int[] ratePercents;
+
+    // The total tax owed on all income below the lower bound of each bracket
+    private final double[] baseTax;
+
+    // The lower bound of each bracket in cents
+    private final long[] lowerBoundsCents;
+
+    // The exact total tax, in cents, owed on all income below the lower bound of each bracket
+    private final long[] baseTaxCents;
+
+    // The income left after tax at the lower bound of each bracket, in dollars and in cents
+    private final double[] baseNet;
+    private final long[] baseNetCents;
+
+    /**
+     * Constructs a TaxSchedule from its bracket thresholds and rates.
+     *
+     * @param thresholds the lower bound, in whole dollars, of every bracket after the first,
+     *                   in strictly increasing order
+     * @param ratePercents the rate of each bracket as a whole percentage below 100; must
+     *                     contain exactly one more entry than {@code thresholds}
+     */
+    public TaxSchedule(int[] thresholds, int[] ratePercents) {
+        if (ratePercents.length != thresholds.length + 1) {
+            throw new IllegalArgumentException("A schedule with " + thresholds.length
+                    + " thresholds needs " + (thresholds.length + 1) + " rates");
+        }
+
+        for (int percent : ratePercents) {
+            if (percent < 0 || percent > 99) {
+                throw new IllegalArgumentException("Rates must be whole percentages from 0 to 99");
+            }
+        }
+
+        int brackets = ratePercents.length;
+        this.lowerBounds = new double[brackets];
+        this.rates = new double[brackets];
+        this.ratePercents = ratePercents.clone();
+        this.baseTax = new double[brackets];
+        this.lowerBoundsCents = new long[brackets];
+        this.baseTaxCents = new long[brackets];
+        this.baseNet = new double[brackets];
+        this.baseNetCents = new long[brackets];
+
+        rates[0] = ratePercents[0] / 100.0;
+        for (int i = 1; i < brackets; i++) {
+            if (thresholds[i - 1] <= lowerBounds[i - 1]) {
+                throw new IllegalArgumentException("Thresholds must be positive and strictly increasing");
+            }
+            lowerBounds[i] = thresholds[i - 1];
+            rates[i] = ratePercents[i] / 100.0;
+            baseTax[i] = baseTax[i - 1] + (lowerBounds[i] - lowerBounds[i - 1]) * rates[i - 1];
+            lowerBoundsCents[i] = thresholds[i - 1] * 100L;
+            // A whole-dollar span taxed at a whole percentage is exactly span * percent cents
+            baseTaxCents[i] = baseTaxCents[i - 1]
+                    + (long) (thresholds[i - 1] - (i > 1 ? thresholds[i - 2] : 0)) * ratePercents[i - 1];
+            baseNet[i] = lowerBounds[i] - baseTax[i];
+            baseNetCents[i] = lowerBoundsCents[i] - baseTaxCents[i];
+        } // End for loop
+    } // End TaxSchedule constructor
+
+    /**
+     * Returns the index of the bracket that the given income falls into. An income exactly
+     * equal to a threshold belongs to the lower bracket.
+     *
+     * @param income the taxable income
+     * @return the zero-based bracket index
+     */
+    public int bracketIndex(double income) {
+        int bracket = lowerBounds.length - 1;
+        while (bracket > 0 && income <= lowerBounds[bracket]) {
+            bracket--;
+        }
+        return bracket;
+    } // End bracketIndex method
+
+    /**
+     * Calculates the tax owed on the given income under this schedule.
+     *
+     * @param income the taxable income
+     * @return the tax owed
+     */
+    public double tax(double income) {
+        return tax(income, bracketIndex(income));
+    } // End tax method
+
+    /**
+     * Calculates the tax owed on the given income when its bracket is already known.
+     *
+     * @param income the taxable income
+     * @param bracket the bracket the income falls into, as returned by {@link #bracketIndex}
+     * @return the tax owed
+     */
+    public double tax(double income, int bracket) {
+        return baseTax[bracket] + (income - lowerBounds[bracket]) * rates[bracket];
+    } // End tax method
+
+    /**
+     * Returns the index of the bracket that the given income, in cents, falls into. An income
+     * exactly equal to a threshold belongs to the lower bracket.
+     *
+     * @param incomeCents the taxable income in cents
+     * @return the zero-based bracket index
+     */
+    public int bracketIndexCents(long incomeCents) {
+        int bracket = lowerBoundsCents.length - 1;
+        while (bracket > 0 && incomeCents <= lowerBoundsCents[bracket]) {
+            bracket--;
+        }
+        return bracket;
+    } // End bracketIndexCents method
+
+    /**
+     * Calculates the tax owed on the given income in exact integer arithmetic. The result is
+     * the exact tax rounded half-up to the nearest cent.
+     *
+     * @param incomeCents the taxable income in cents
+     * @return the tax owed in cents
+     */
+    public long taxCents(long incomeCents) {
+        return taxCents(incomeCents, bracketIndexCents(incomeCents));
+    } // End taxCents method
+
+    /**
+     * Calculates the tax owed, in cents, on the given income when its bracket is already known.
+     *
+     * @param incomeCents the taxable income in cents
+     * @param bracket the bracket the income falls into, as returned by {@link #bracketIndexCents}
+     * @return the tax owed in cents
+     */
+    public long taxCents(long incomeCents, int bracket) {
+        // (income above the bracket's lower bound) * percent is the bracket's tax in hundredths of a cent
+        long bracketTax = (incomeCents - lowerBoundsCents[bracket]) * ratePercents[bracket];
+        return baseTaxCents[bracket] + Math.floorDiv(bracketTax + 50, 100);
+    } // End taxCents method
+
+    /**
+     * Returns the income on which the tax under this schedule is exactly the given amount,
+     * the inverse of {@link #tax(double)}. A target at a bracket's base tax gives the
+     * bracket's lower bound.
+     *
+     * @param tax the target tax
+     * @return the taxable income that owes that tax, or 0 for a target of zero or less
+     * @throws IllegalArgumentException if no income owes that much tax
+     */
+    public double incomeForTax(double tax) {
+        if (tax <= 0) {
+            return 0;
+        }
+        int bracket = rates.length - 1;
+        while (bracket > 0 && tax <= baseTax[bracket]) {
+            bracket--;
+        }
+        if (rates[bracket] == 0) {
+            throw new IllegalArgumentException("No income owes a tax of " + tax);
+        }
+        return lowerBounds[bracket] + (tax - baseTax[bracket]) / rates[bracket];
+    } // End incomeForTax method
+
+    /**
+     * Returns the income that leaves exactly the given amount after the tax under this
+     * schedule, the inverse of {@code income - tax(income)}. This is the gross-up of a net pay.
+     *
+     * @param net the target income after tax
+     * @return the taxable income that leaves that much after tax, or 0 for a target of zero
+     *         or less
+     */
+    public double incomeForNet(double net) {
+        if (net <= 0) {
+            return 0;
+        }
+        int bracket = rates.length - 1;
+        while (bracket > 0 && net <= baseNet[bracket]) {
+            bracket--;
+        }
+        return lowerBounds[bracket] + (net - baseNet[bracket]) / (1 - rates[bracket]);
+    } // End incomeForNet method
+
+    /**
+     * Returns the smallest income, in cents, on which {@link #taxCents(long)} is at least the
+     * given tax. The bracket line is solved in exact integer arithmetic, allowing for the
+     * half-up rounding of the tax to the cent.
+     *
+     * @param taxCents the target tax in cents
+     * @return the smallest taxable income in cents that owes at least that tax, or 0 for a
+     *         target of zero or less
+     * @throws IllegalArgumentException if no income owes that much tax
+     */
+    public long incomeCentsForTax(long taxCents) {
+        if (taxCents <= 0) {
+            return 0;
+        }
+        int bracket = ratePercents.length - 1;
+        while (bracket > 0 && taxCents <= baseTaxCents[bracket]) {
+            bracket--;
+        }
+        int percent = ratePercents[bracket];
+        if (percent == 0) {
+            throw new IllegalArgumentException("No income owes a tax of " + taxCents + " cents");
+        }
+        // The smallest d with floor((d * percent + 50) / 100) >= taxCents - baseTaxCents
+        long needed = 100 * (taxCents - baseTaxCents[bracket]) - 50;
+        return lowerBoundsCents[bracket] + Math.ceilDiv(needed, percent);
+    } // End incomeCentsForTax method
+
+    /**
+     * Returns the smallest income, in cents, that leaves at least the given amount after
+     * {@link #taxCents(long)} is taken from it. This is the exact gross-up of a net pay.
+     *
+     * @param netCents the target income after tax in cents
+     * @return the smallest taxable income in cents that leaves at least that much after tax,
+     *         or 0 for a target of zero or less
+     */
+    public long incomeCentsForNet(long netCents) {
+        if (netCents <= 0) {
+            return 0;
+        }
+        int bracket = ratePercents.length - 1;
+        while (bracket > 0 && netCents <= baseNetCents[bracket]) {
+            bracket--;
+        }
+        int percent = ratePercents[bracket];
+        long lower = lowerBoundsCents[bracket];
+        long needed = netCents - baseNetCents[bracket];
+
+        // Solve the unrounded line, then step over the rounding of the tax, which moves the
+        // net income by at most a cent either way
+        long d = Math.ceilDiv(needed * 100, 100 - percent);
+        while (d > 1 && netAbove(d - 1, percent) >= needed) {
+            d--;
+        }
+        while (netAbove(d, percent) < needed) {
+            d++;
+        }
+        return lower + d;
+    } // End incomeCentsForNet method
+
+    // The net income, in cents, that d cents of income in a bracket taxed at percent add
+    private static long netAbove(long d, int percent) {
+        return d - Math.floorDiv(d * percent + 50, 100);
+    } // End netAbove method
+
+    /**
+     * @return the number of brackets in this schedule
+     */
+    public int bracketCount() {
+        return rates.length;
+    } // End bracketCount method
+
+    /**
+     * @param bracket a zero-based bracket index
+     * @return the lower bound of the bracket in whole dollars
+     */
+    public double lowerBound(int bracket) {
+        return lowerBounds[bracket];
+    } // End lowerBound method
+
+    /**
+     * @param bracket a zero-based bracket index
+     * @return the lower bound of the bracket in cents
+     */
+    public long lowerBoundCents(int bracket) {
+        return lowerBoundsCents[bracket];
+    } // End lowerBoundCents method
+
+    /**
+     * @param bracket a zero-based bracket index
+     * @return the rate of the bracket as a fraction
+     */
+    public double rate(int bracket) {
+        return rates[bracket];
+    } // End rate method
+
+    /**
+     * @param bracket a zero-based bracket index
+     * @return the rate of the bracket as a whole percentage
+     */
+    public int ratePercent(int bracket) {
+        return ratePercents[bracket];
+    } // End ratePercent method
+
+    /**
+     * @param bracket a zero-based bracket index
+     * @return the tax owed on all income below the lower bound of the bracket
+     */
+    public double baseTax(int bracket) {
+        return baseTax[bracket];
+    } // End baseTax method
+
+    /**
+     * @param bracket a zero-based bracket index
+     * @return the exact tax, in cents, owed on all income below the lower bound of the bracket
+     */
+    public long baseTaxCents(int bracket) {
+        return baseTaxCents[bracket];
+    } // End baseTaxCents method
+
+} // End TaxSchedule class
@@ -0,0 +1,182 @@
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@code TaxScheduleRegistry} class holds the tax schedules of every filing status for
+ * each tax year from {@value #FIRST_YEAR} to {@value #LAST_YEAR}, for amended-return and
+ * projection jobs that span several years.
+ * <p>
+ * The thresholds of the years published in the IRS Revenue Procedures, 2018 to 2025, are
+ * kept here as compact {@code int} tables, and a year's {@link TaxSchedule}s are built from
+ * them the first time that year is asked for. The 2025 schedules are the ones
+ * {@link TaxTableCalculator} uses. Years that have not been published yet, such as projected
+ * ones, have no schedules until they are {@linkplain #register registered}.
+ * <p>
+ * Once a year is loaded its schedules are immutable and are found by two array indexes, so
+ * looking one up costs nothing beyond the first use. Callers evaluating many records for one
+ * year can hold on to the {@link TaxSchedule} itself. The registry is safe to use from any
+ * number of threads; two threads loading the same year at once build identical schedules and
+ * keep whichever was stored first.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class TaxScheduleRegistry {
+
+    // The first tax year the registry can hold
+    public static final int FIRST_YEAR = 2018;
+
+    // The last tax year the registry can hold
+    public static final int LAST_YEAR = 2030;
+
+    // The rates of the individual schedules and of the estates and trusts schedule since 2018
+    private static final int[] INDIVIDUAL_RATES = {10, 12, 22, 24, 32, 35, 37};
+    private static final int[] ESTATES_TRUSTS_RATES = {10, 24, 35, 37};
+
+    /*
+     * The published thresholds of each year before 2025, indexed by year - FIRST_YEAR and
+     * then by filing status - 1: single, head of household, married filing separately,
+     * married filing jointly, and estates and trusts.
+     */
+    private static final int[][][] PUBLISHED_THRESHOLDS = {
+            { // 2018
+                    {9525, 38700, 82500, 157500, 200000, 500000},
+                    {13600, 51800, 82500, 157500, 200000, 500000},
+                    {9525, 38700, 82500, 157500, 200000, 300000},
+                    {19050, 77400, 165000, 315000, 400000, 600000},
+                    {2550, 9150, 12500}
+            },
+            { // 2019
+                    {9700, 39475, 84200, 160725, 204100, 510300},
+                    {13850, 52850, 84200, 160700, 204100, 510300},
+                    {9700, 39475, 84200, 160725, 204100, 306175},
+                    {19400, 78950, 168400, 321450, 408200, 612350},
+                    {2600, 9300, 12750}
+            },
+            { // 2020
+                    {9875, 40125, 85525, 163300, 207350, 518400},
+                    {14100, 53700, 85500, 163300, 207350, 518400},
+                    {9875, 40125, 85525, 163300, 207350, 311025},
+                    {19750, 80250, 171050, 326600, 414700, 622050},
+                    {2600, 9450, 12950}
+            },
+            { // 2021
+                    {9950, 40525, 86375, 164925, 209425, 523600},
+                    {14200, 54200, 86350, 164900, 209400, 523600},
+                    {9950, 40525, 86375, 164925, 209425, 314150},
+                    {19900, 81050, 172750, 329850, 418850, 628300},
+                    {2650, 9550, 13050}
+            },
+            { // 2022
+                    {10275, 41775, 89075, 170050, 215950, 539900},
+                    {14650, 55900, 89050, 170050, 215950, 539900},
+                    {10275, 41775, 89075, 170050, 215950, 323925},
+                    {20550, 83550, 178150, 340100, 431900, 647850},
+                    {2750, 9850, 13450}
+            },
+            { // 2023
+                    {11000, 44725, 95375, 182100, 231250, 578125},
+                    {15700, 59850, 95350, 182100, 231250, 578100},
+                    {11000, 44725, 95375, 182100, 231250, 346875},
+                    {22000, 89450, 190750, 364200, 462500, 693750},
+                    {2900, 10550, 14450}
+            },
+            { // 2024
+                    {11600, 47150, 100525, 191950, 243725, 609350},
+                    {16550, 63100, 100500, 191950, 243700, 609350},
+                    {11600, 47150, 100525, 191950, 243725, 365600},
+                    {23200, 94300, 201050, 383900, 487450, 731200},
+                    {3100, 11150, 15200}
+            }
+    };
+
+    // The loaded schedules indexed by year - FIRST_YEAR and then by filing status (index 0 is unused)
+    private static final AtomicReferenceArray<TaxSchedule[]> YEARS =
+            new AtomicReferenceArray<>(LAST_YEAR - FIRST_YEAR + 1);
+
+    private TaxScheduleRegistry() {
+    } // End TaxScheduleRegistry constructor
+
+    /**
+     * Returns the schedule of a filing status for a tax year, loading the year on first use.
+     *
+     * @param year the tax year
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @return the schedule for that year and filing status
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5, or the
+     *                                  registry has no schedules for the year
+     */
+    public static TaxSchedule schedule(int year, int filingStatus) {
+        TaxSchedule[] schedules = schedules(year);
+        if (filingStatus < 1 || filingStatus >= schedules.length) {
+            throw new IllegalArgumentException("Unknown filing status: " + filingStatus);
+        }
+        return schedules[filingStatus];
+    } // End schedule method
+
+    /**
+     * @param year a tax year
+     * @return whether the registry has schedules for the year, either published or registered
+     */
+    public static boolean hasYear(int year) {
+        return year >= FIRST_YEAR && year <= LAST_YEAR
+                && (year <= TaxTableCalculator.TAX_YEAR || YEARS.get(year - FIRST_YEAR) != null);
+    } // End hasYear method
+
+    /**
+     * Registers the schedules of a year that has not been published, such as a projected
+     * year. A year can be registered only once.
+     *
+     * @param year the tax year, after {@value TaxTableCalculator#TAX_YEAR} and no later than
+     *             {@value #LAST_YEAR}
+     * @param schedules the schedules indexed by filing status (1–5); index 0 is ignored
+     * @throws IllegalArgumentException if the year is published or out of range, already
+     *                                  registered, or a schedule is missing
+     */
+    public static void register(int year, TaxSchedule[] schedules) {
+        if (year <= TaxTableCalculator.TAX_YEAR || year > LAST_YEAR) {
+            throw new IllegalArgumentException("Only unpublished years up to " + LAST_YEAR
+                    + " can be registered: " + year);
+        }
+        TaxSchedule[] copy = new TaxSchedule[6];
+        for (int status = 1; status <= 5; status++) {
+            if (schedules.length <= status || schedules[status] == null) {
+                throw new IllegalArgumentException("No schedule for filing status " + status);
+            }
+            copy[status] = schedules[status];
+        }
+        if (!YEARS.compareAndSet(year - FIRST_YEAR, null, copy)) {
+            throw new IllegalArgumentException("Tax year " + year + " is already registered");
+        }
+    } // End register method
+
+    // Returns the schedules of a year indexed by filing status, loading a published year on first use
+    private static TaxSchedule[] schedules(int year) {
+        if (year < FIRST_YEAR || year > LAST_YEAR) {
+            throw new IllegalArgumentException("No schedules for tax year " + year);
+        }
+        TaxSchedule[] schedules = YEARS.get(year - FIRST_YEAR);
+        if (schedules != null) {
+            return schedules;
+        }
+        if (year > TaxTableCalculator.TAX_YEAR) {
+            throw new IllegalArgumentException("No schedules for tax year " + year);
+        }
+        YEARS.compareAndSet(year - FIRST_YEAR, null, load(year));
+        return YEARS.get(year - FIRST_YEAR);
+    } // End schedules method
+
+    // Builds the schedules of a published year
+    private static TaxSchedule[] load(int year) {
+        TaxSchedule[] schedules = new TaxSchedule[6];
+        for (int status = 1; status <= 5; status++) {
+            if (year == TaxTableCalculator.TAX_YEAR) {
+                schedules[status] = TaxTableCalculator.schedule(status);
+            } else {
+                schedules[status] = new TaxSchedule(PUBLISHED_THRESHOLDS[year - FIRST_YEAR][status - 1],
+                        status == 5 ? ESTATES_TRUSTS_RATES : INDIVIDUAL_RATES);
+            }
+        }
+        return schedules;
+    } // End load method
+
+} // End TaxScheduleRegistry class
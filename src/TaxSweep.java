@@ -0,0 +1,178 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code TaxSweep} class walks a range of incomes in fixed steps under one filing status
+ * and produces the tax at each step, for plotting tax curves. Rather than evaluating the
+ * schedule from scratch at every point, it keeps a running total and adds the step times the
+ * current rate, switching to the next rate only when a step crosses a bracket boundary.
+ * <p>
+ * The running total is kept in hundredths of a cent, in which every step's increment is an
+ * exact whole number, so the sweep never drifts: each tax it reports is exactly the value
+ * {@link TaxSchedule#taxCents(long)} gives for that income, rounded half-up to the cent.
+ * <p>
+ * A sweep can be stepped one point at a time, or a whole curve can be written straight into
+ * a {@code long[]} with {@link #taxCents(int, long, long, long[], int, int)} or as CSV lines to
+ * a stream with {@link #write(int, long, long, long, OutputStream)}, neither of which allocates
+ * per point. A sweep must not be shared between threads.
+ *
+ * @author James Stevens
+ * @version 2025.1
+ */
+public final class TaxSweep {
+
+    // The header line written at the top of a curve written as CSV
+    public static final byte[] CSV_HEADER = "income,tax\n".getBytes(StandardCharsets.US_ASCII);
+
+    // The size of the buffer a curve is formatted into before it is written
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // The most bytes a single CSV line of the curve needs
+    private static final int MAX_LINE_LENGTH = 48;
+
+    // The schedule being swept
+    private final TaxSchedule schedule;
+
+    // The distance between consecutive incomes, in cents
+    private final long stepCents;
+
+    // The current income in cents and the bracket it falls into
+    private long incomeCents;
+    private int bracket;
+
+    // The rate of the current bracket as a whole percentage
+    private int percent;
+
+    // The lower bound, in cents, of the next bracket, or Long.MAX_VALUE in the top bracket
+    private long nextBoundary;
+
+    // The exact, unrounded tax on the current income in hundredths of a cent
+    private long exactTax;
+
+    /**
+     * Constructs a TaxSweep positioned at its starting income.
+     *
+     * @param filingStatus an integer (1–5) representing the filing status to sweep
+     * @param startCents the first income of the sweep in cents
+     * @param stepCents the distance between consecutive incomes in cents
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5 or the
+     *                                  step is not positive
+     */
+    public TaxSweep(int filingStatus, long startCents, long stepCents) {
+        if (stepCents < 1) {
+            throw new IllegalArgumentException("The step must be positive");
+        }
+        this.schedule = TaxTableCalculator.schedule(filingStatus);
+        this.stepCents = stepCents;
+        this.incomeCents = startCents;
+        this.bracket = schedule.bracketIndexCents(startCents);
+        this.percent = schedule.ratePercent(bracket);
+        this.nextBoundary = boundaryAbove(bracket);
+        // The base tax of a bracket is a whole number of cents, so this is exact
+        this.exactTax = schedule.baseTaxCents(bracket) * 100
+                + (startCents - schedule.lowerBoundCents(bracket)) * percent;
+    } // End TaxSweep constructor
+
+    /**
+     * @return the current income in cents
+     */
+    public long incomeCents() {
+        return incomeCents;
+    } // End incomeCents method
+
+    /**
+     * @return the zero-based index of the bracket the current income falls into
+     */
+    public int bracket() {
+        return bracket;
+    } // End bracket method
+
+    /**
+     * @return the tax on the current income in cents, rounded half-up
+     */
+    public long taxCents() {
+        return Math.floorDiv(exactTax + 50, 100);
+    } // End taxCents method
+
+    /**
+     * Moves the sweep on by one step, crossing into higher brackets as needed.
+     */
+    public void advance() {
+        long remaining = stepCents;
+        while (incomeCents + remaining > nextBoundary) {
+            long span = nextBoundary - incomeCents;
+            exactTax += span * percent;
+            incomeCents = nextBoundary;
+            remaining -= span;
+            bracket++;
+            percent = schedule.ratePercent(bracket);
+            nextBoundary = boundaryAbove(bracket);
+        }
+        exactTax += remaining * percent;
+        incomeCents += remaining;
+    } // End advance method
+
+    /**
+     * Writes the tax curve of a filing status into an array: {@code out[offset + i]} receives
+     * the tax, in cents, on the income {@code startCents + i * stepCents}.
+     *
+     * @param filingStatus an integer (1–5) representing the filing status to sweep
+     * @param startCents the first income of the curve in cents
+     * @param stepCents the distance between consecutive incomes in cents
+     * @param out the array that receives the tax at each point in cents
+     * @param offset the index of the first point in the array
+     * @param count the number of points
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5 or the
+     *                                  step is not positive
+     */
+    public static void taxCents(int filingStatus, long startCents, long stepCents, long[] out, int offset, int count) {
+        TaxSweep sweep = new TaxSweep(filingStatus, startCents, stepCents);
+        int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            out[i] = sweep.taxCents();
+            sweep.advance();
+        }
+    } // End taxCents method
+
+    /**
+     * Writes the tax curve of a filing status to a stream as CSV: a header line followed by
+     * one {@code income,tax} line per point, both in dollars and cents, such as
+     * {@code 52000.00,6354.00}. The stream is flushed but not closed.
+     *
+     * @param filingStatus an integer (1–5) representing the filing status to sweep
+     * @param startCents the first income of the curve in cents
+     * @param stepCents the distance between consecutive incomes in cents
+     * @param count the number of points
+     * @param out the stream that receives the curve
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5 or the
+     *                                  step is not positive
+     */
+    public static void write(int filingStatus, long startCents, long stepCents, long count, OutputStream out)
+            throws IOException {
+        TaxSweep sweep = new TaxSweep(filingStatus, startCents, stepCents);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        out.write(CSV_HEADER);
+        int position = 0;
+        for (long i = 0; i < count; i++) {
+            if (buffer.length - position < MAX_LINE_LENGTH) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            position = CurrencyFormatter.writePlain(buffer, position, sweep.incomeCents());
+            buffer[position++] = ',';
+            position = CurrencyFormatter.writePlain(buffer, position, sweep.taxCents());
+            buffer[position++] = '\n';
+            sweep.advance();
+        }
+        out.write(buffer, 0, position);
+        out.flush();
+    } // End write method
+
+    // Returns the lower bound of the bracket above the given one, or Long.MAX_VALUE if it is the top
+    private long boundaryAbove(int bracket) {
+        return bracket + 1 < schedule.bracketCount() ? schedule.lowerBoundCents(bracket + 1) : Long.MAX_VALUE;
+    } // End boundaryAbove method
+
+} // End TaxSweep class
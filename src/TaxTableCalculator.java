@@ -1,5 +1,3 @@
-import java.text.DecimalFormat;
-
 /**
  * The {@code TaxTableCalculator} class calculates the federal income tax for individuals,
  * heads of household, married couples (filing jointly or separately), and estates/trusts
@@ -23,21 +21,57 @@ import java.text.DecimalFormat;
  * <p>
  * Note: This class reflects the tax brackets and rules effective as of October 22, 2024,
  * and applicable to the 2025 tax year per the IRS Revenue Procedure. If the tax code is
- * amended after that date, results may not reflect subsequent changes.
+ * amended after that date, results may not reflect subsequent changes. The schedules of
+ * other tax years are held by the {@link TaxScheduleRegistry} and used by the methods that
+ * take a year.
  *
  * @author James Stevens
  * @version 2025.1
  */
 public class TaxTableCalculator {
 
-    // Constants representing different tax rates
-    private static final double PERCENTAGE_10 = 0.10;
-    private static final double PERCENTAGE_12 = 0.12;
-    private static final double PERCENTAGE_22 = 0.22;
-    private static final double PERCENTAGE_24 = 0.24;
-    private static final double PERCENTAGE_32 = 0.32;
-    private static final double PERCENTAGE_35 = 0.35;
-    private static final double PERCENTAGE_37 = 0.37;
+    // The tax year of the schedules below
+    public static final int TAX_YEAR = 2025;
+
+    // The 2025 schedule for unmarried individuals
+    static final TaxSchedule SINGLE = new TaxSchedule(
+            new int[]{11925, 48475, 103350, 197300, 250525, 626350},
+            new int[]{10, 12, 22, 24, 32, 35, 37});
+
+    // The 2025 schedule for heads of household
+    static final TaxSchedule HEAD_OF_HOUSEHOLD = new TaxSchedule(
+            new int[]{17000, 64850, 103350, 197300, 250500, 626350},
+            new int[]{10, 12, 22, 24, 32, 35, 37});
+
+    // The 2025 schedule for married individuals filing separate returns
+    static final TaxSchedule MARRIED_FILING_SEPARATE = new TaxSchedule(
+            new int[]{11925, 48475, 103350, 197300, 250525, 375800},
+            new int[]{10, 12, 22, 24, 32, 35, 37});
+
+    // The 2025 schedule for married individuals filing joint returns and surviving spouses
+    static final TaxSchedule MARRIED_FILING_JOINTLY = new TaxSchedule(
+            new int[]{23850, 96950, 206700, 394600, 501050, 751600},
+            new int[]{10, 12, 22, 24, 32, 35, 37});
+
+    // The 2025 schedule for estates and trusts
+    static final TaxSchedule ESTATES_TRUSTS = new TaxSchedule(
+            new int[]{3150, 11450, 15650},
+            new int[]{10, 24, 35, 37});
+
+    // The schedules indexed by filing status (index 0 is unused)
+    private static final TaxSchedule[] SCHEDULES = {
+            null, SINGLE, HEAD_OF_HOUSEHOLD, MARRIED_FILING_SEPARATE, MARRIED_FILING_JOINTLY, ESTATES_TRUSTS
+    };
+
+    // The display names of the filing statuses, indexed by filing status (index 0 is unused)
+    private static final String[] FILING_STATUS_NAMES = {
+            null,
+            "being an Unmarried Individual",
+            "being the Head of Household",
+            "being Married Individuals Filing Separate Returns",
+            "being Married Individuals Filing Joint Returns or Surviving Spouses",
+            "the Estates and Trusts"
+    };
 
     // The taxpayer's filing status (represented by an integer 1–5)
     private final int filingStatus;
@@ -45,12 +79,6 @@ public class TaxTableCalculator {
     // The taxpayer's gross salary (before deductions)
     private final double grossSalary;
 
-    // The calculated tax based on filing status and income
-    double taxRate;
-
-    // A string to store the name of the filing status for display purposes
-    String filingStatusName;
-
     /**
      * Constructs a TaxTableCalculator instance with the given filing status and gross salary.
      *
@@ -63,52 +91,391 @@ public class TaxTableCalculator {
     } // End TaxTableCalculator constructor
 
     /**
-     * This method determines the tax rate based on the filing status of an individual or entity
-     * and their gross income. The method uses a switch statement to select the appropriate
-     * tax calculation method based on the filing status:
+     * Returns the tax schedule used for the given filing status.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @return the schedule for that filing status
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static TaxSchedule schedule(int filingStatus) {
+        if (filingStatus < 1 || filingStatus >= SCHEDULES.length) {
+            throw new IllegalArgumentException("Unknown filing status: " + filingStatus);
+        }
+        return SCHEDULES[filingStatus];
+    } // End schedule method
+
+    /**
+     * Returns the tax schedule used for the given tax year and filing status.
+     *
+     * @param year the tax year, from {@value TaxScheduleRegistry#FIRST_YEAR}
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @return the schedule for that year and filing status
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5, or there
+     *                                  is no schedule for the year
+     */
+    public static TaxSchedule schedule(int year, int filingStatus) {
+        return year == TAX_YEAR ? schedule(filingStatus) : TaxScheduleRegistry.schedule(year, filingStatus);
+    } // End schedule method
+
+    /**
+     * Returns the display name of the given filing status, phrased to follow "based on".
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @return the display name of the filing status
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static String filingStatusName(int filingStatus) {
+        schedule(filingStatus);
+        return FILING_STATUS_NAMES[filingStatus];
+    } // End filingStatusName method
+
+    /**
+     * This method calculates the tax for one taxpayer and returns it as an immutable result.
+     * It keeps no state between calls, so it is safe to call from any number of threads at
+     * once without locking or constructing a calculator per request.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param grossSalary the gross salary of the taxpayer
+     * @return the calculated tax together with the status, income, bracket and rates it applies to
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static TaxResult calculate(int filingStatus, double grossSalary) {
+        TaxSchedule schedule = schedule(filingStatus);
+        int bracket = schedule.bracketIndex(grossSalary);
+        return TaxResult.fromSchedule(filingStatus, schedule, grossSalary, schedule.tax(grossSalary, bracket), bracket);
+    } // End calculate method
+
+    /**
+     * This method calculates the tax for one taxpayer under the schedules of the given tax
+     * year and returns it as an immutable result.
+     *
+     * @param year the tax year
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param grossSalary the gross salary of the taxpayer
+     * @return the calculated tax together with the status, income, bracket and rates it applies to
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5, or there
+     *                                  is no schedule for the year
+     */
+    public static TaxResult calculate(int year, int filingStatus, double grossSalary) {
+        TaxSchedule schedule = schedule(year, filingStatus);
+        int bracket = schedule.bracketIndex(grossSalary);
+        return TaxResult.fromSchedule(filingStatus, schedule, grossSalary, schedule.tax(grossSalary, bracket), bracket);
+    } // End calculate method
+
+    /**
+     * This method calculates the tax for one taxpayer exactly in cents, as
+     * {@link #calculateCents} does, and returns it as an immutable result.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return the calculated tax together with the status, income, bracket and rates it applies to
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static TaxResult calculateFromCents(int filingStatus, long incomeCents) {
+        TaxSchedule schedule = schedule(filingStatus);
+        int bracket = schedule.bracketIndexCents(incomeCents);
+        return TaxResult.fromSchedule(filingStatus, schedule, incomeCents / 100.0,
+                schedule.taxCents(incomeCents, bracket) / 100.0, bracket);
+    } // End calculateFromCents method
+
+    /**
+     * This method calculates the tax for a batch of taxpayers who share one filing status.
+     * The tax for {@code incomes[i]} is written to {@code out[i]}; no objects are allocated
+     * per record, so the same arrays can be reused across batches.
+     *
+     * @param filingStatus an integer (1–5) representing the filing status of every taxpayer
+     * @param incomes the gross income of each taxpayer
+     * @param out the array that receives the calculated tax, at least as long as {@code incomes}
+     */
+    public static void calculateBatch(int filingStatus, double[] incomes, double[] out) {
+        calculateBatch(filingStatus, incomes, out, 0, incomes.length);
+    } // End calculateBatch method
+
+    /**
+     * This method calculates the tax for the records in {@code [from, to)} of a batch of
+     * taxpayers who share one filing status.
+     *
+     * @param filingStatus an integer (1–5) representing the filing status of every taxpayer
+     * @param incomes the gross income of each taxpayer
+     * @param out the array that receives the calculated tax
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     */
+    public static void calculateBatch(int filingStatus, double[] incomes, double[] out, int from, int to) {
+        TaxSchedule schedule = schedule(filingStatus);
+        for (int i = from; i < to; i++) {
+            out[i] = schedule.tax(incomes[i]);
+        }
+    } // End calculateBatch method
+
+    /**
+     * This method calculates the tax for a batch of taxpayers with individual filing statuses.
+     * The tax for the taxpayer described by {@code statuses[i]} and {@code incomes[i]} is
+     * written to {@code out[i]}; no objects are allocated per record.
+     *
+     * @param statuses the filing status (1–5) of each taxpayer
+     * @param incomes the gross income of each taxpayer
+     * @param out the array that receives the calculated tax, at least as long as {@code incomes}
+     * @throws IllegalArgumentException if any filing status is not between 1 and 5
+     */
+    public static void calculateBatch(int[] statuses, double[] incomes, double[] out) {
+        calculateBatch(statuses, incomes, out, 0, incomes.length);
+    } // End calculateBatch method
+
+    /**
+     * This method calculates the tax for the records in {@code [from, to)} of a batch of
+     * taxpayers with individual filing statuses.
+     *
+     * @param statuses the filing status (1–5) of each taxpayer
+     * @param incomes the gross income of each taxpayer
+     * @param out the array that receives the calculated tax
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     * @throws IllegalArgumentException if any filing status is not between 1 and 5
+     */
+    public static void calculateBatch(int[] statuses, double[] incomes, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = schedule(statuses[i]).tax(incomes[i]);
+        }
+    } // End calculateBatch method
+
+    /**
+     * This method calculates the tax for one taxpayer in exact integer arithmetic. No rounding
+     * happens until the final cent, so the result always matches a reconciliation carried out
+     * by hand to the cent, and no objects are allocated.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return the calculated tax in cents, rounded half-up
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static long calculateCents(int filingStatus, long incomeCents) {
+        return schedule(filingStatus).taxCents(incomeCents);
+    } // End calculateCents method
+
+    /**
+     * This method calculates the tax for one taxpayer in exact integer arithmetic under the
+     * schedules of the given tax year.
+     *
+     * @param year the tax year
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param incomeCents the gross income of the taxpayer in cents
+     * @return the calculated tax in cents, rounded half-up
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5, or there
+     *                                  is no schedule for the year
+     */
+    public static long calculateCents(int year, int filingStatus, long incomeCents) {
+        return schedule(year, filingStatus).taxCents(incomeCents);
+    } // End calculateCents method
+
+    /**
+     * This method finds the gross income on which a taxpayer owes exactly the given tax. The
+     * schedule is inverted directly in the bracket that bounds the target, so the answer takes
+     * a single evaluation instead of a search over repeated calculations.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param tax the target tax
+     * @return the gross income that owes that tax, or 0 for a target of zero or less
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static double grossIncomeForTax(int filingStatus, double tax) {
+        return schedule(filingStatus).incomeForTax(tax);
+    } // End grossIncomeForTax method
+
+    /**
+     * This method finds the gross income that leaves a taxpayer exactly the given net pay
+     * after tax, for grossing up a payment, by inverting the schedule directly.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param netPay the target income after tax
+     * @return the gross income that leaves that net pay, or 0 for a target of zero or less
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static double grossIncomeForNetPay(int filingStatus, double netPay) {
+        return schedule(filingStatus).incomeForNet(netPay);
+    } // End grossIncomeForNetPay method
+
+    /**
+     * This method finds the smallest gross income, in cents, on which a taxpayer owes at least
+     * the given tax as calculated by {@link #calculateCents}.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param taxCents the target tax in cents
+     * @return the smallest gross income in cents that owes at least that tax, or 0 for a
+     *         target of zero or less
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static long grossIncomeCentsForTax(int filingStatus, long taxCents) {
+        return schedule(filingStatus).incomeCentsForTax(taxCents);
+    } // End grossIncomeCentsForTax method
+
+    /**
+     * This method finds the smallest gross income, in cents, that leaves a taxpayer at least
+     * the given net pay after the tax calculated by {@link #calculateCents}.
+     *
+     * @param filingStatus an integer (1–5) representing the taxpayer's filing status
+     * @param netPayCents the target income after tax in cents
+     * @return the smallest gross income in cents that leaves at least that net pay, or 0 for a
+     *         target of zero or less
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public static long grossIncomeCentsForNetPay(int filingStatus, long netPayCents) {
+        return schedule(filingStatus).incomeCentsForNet(netPayCents);
+    } // End grossIncomeCentsForNetPay method
+
+    /**
+     * This method calculates the exact tax, in cents, for the records in {@code [from, to)} of
+     * a batch of taxpayers who share one filing status.
+     *
+     * @param filingStatus an integer (1–5) representing the filing status of every taxpayer
+     * @param incomeCents the gross income of each taxpayer in cents
+     * @param out the array that receives the calculated tax in cents
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     */
+    public static void calculateBatchCents(int filingStatus, long[] incomeCents, long[] out, int from, int to) {
+        TaxSchedule schedule = schedule(filingStatus);
+        for (int i = from; i < to; i++) {
+            out[i] = schedule.taxCents(incomeCents[i]);
+        }
+    } // End calculateBatchCents method
+
+    /**
+     * This method calculates the exact tax, in cents, for the records in {@code [from, to)} of
+     * a batch of taxpayers who share one filing status, under the schedules of the given tax
+     * year. The schedule is looked up once for the whole batch.
+     *
+     * @param year the tax year
+     * @param filingStatus an integer (1–5) representing the filing status of every taxpayer
+     * @param incomeCents the gross income of each taxpayer in cents
+     * @param out the array that receives the calculated tax in cents
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5, or there
+     *                                  is no schedule for the year
+     */
+    public static void calculateBatchCents(int year, int filingStatus, long[] incomeCents, long[] out,
+                                           int from, int to) {
+        TaxSchedule schedule = schedule(year, filingStatus);
+        for (int i = from; i < to; i++) {
+            out[i] = schedule.taxCents(incomeCents[i]);
+        }
+    } // End calculateBatchCents method
+
+    /**
+     * This method calculates the exact tax, in cents, for the records in {@code [from, to)} of
+     * a batch of taxpayers with individual filing statuses.
+     *
+     * @param statuses the filing status (1–5) of each taxpayer
+     * @param incomeCents the gross income of each taxpayer in cents
+     * @param out the array that receives the calculated tax in cents
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     * @throws IllegalArgumentException if any filing status is not between 1 and 5
+     */
+    public static void calculateBatchCents(int[] statuses, long[] incomeCents, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = schedule(statuses[i]).taxCents(incomeCents[i]);
+        }
+    } // End calculateBatchCents method
+
+    /**
+     * This method calculates, in a single evaluation per record, the exact tax in cents, the
+     * bracket, the marginal rate and the effective rate for the records in {@code [from, to)}
+     * of a batch of taxpayers with individual filing statuses. Each output array receives the
+     * value for record {@code i} at index {@code i}; no objects are allocated per record.
+     *
+     * @param statuses the filing status (1–5) of each taxpayer
+     * @param incomeCents the gross income of each taxpayer in cents
+     * @param taxCents the array that receives the calculated tax in cents
+     * @param brackets the array that receives the zero-based bracket index
+     * @param marginalRatePercents the array that receives the marginal rate as a whole percentage
+     * @param effectiveRates the array that receives the effective rate as a fraction, or 0 for
+     *                       no income
+     * @param from the index of the first record to calculate, inclusive
+     * @param to the index of the last record to calculate, exclusive
+     * @throws IllegalArgumentException if any filing status is not between 1 and 5
+     */
+    public static void calculateBatchRates(int[] statuses, long[] incomeCents, long[] taxCents, int[] brackets,
+                                           int[] marginalRatePercents, double[] effectiveRates, int from, int to) {
+        for (int i = from; i < to; i++) {
+            TaxSchedule schedule = schedule(statuses[i]);
+            long income = incomeCents[i];
+            int bracket = schedule.bracketIndexCents(income);
+            long tax = schedule.taxCents(income, bracket);
+            taxCents[i] = tax;
+            brackets[i] = bracket;
+            marginalRatePercents[i] = schedule.ratePercent(bracket);
+            effectiveRates[i] = income > 0 ? (double) tax / income : 0;
+        }
+    } // End calculateBatchRates method
+
+    /**
+     * This method determines the tax based on the filing status of an individual or entity
+     * and their gross income, using the schedule for the filing status:
      * <p>
-     * - Case 1: Calls the calculateSingle() method for unmarried individuals.
-     * - Case 2: Calls the calculateHeadOfHousehold() method for head of household filings.
-     * - Case 3: Calls the calculateMarriedFilingSeparate() method for married individuals filing separately.
-     * - Case 4: Calls the calculateMarriedFilingJointlySurvivingSpouse() method for married individuals filing jointly or surviving spouses.
-     * - Case 5: Calls the calculateEstatesTrusts() method for estates and trusts.
+     * - Status 1: The {@link #SINGLE} schedule for unmarried individuals.
+     * - Status 2: The {@link #HEAD_OF_HOUSEHOLD} schedule for head of household filings.
+     * - Status 3: The {@link #MARRIED_FILING_SEPARATE} schedule for married individuals filing separately.
+     * - Status 4: The {@link #MARRIED_FILING_JOINTLY} schedule for married individuals filing jointly or surviving spouses.
+     * - Status 5: The {@link #ESTATES_TRUSTS} schedule for estates and trusts.
      * <p>
-     * After calculating the tax, the method formats the tax rate and gross income into a
+     * After calculating the tax, the method formats the tax and gross income into a
      * user-friendly currency format and outputs a message displaying the tax calculated
-     * for the provided filing status and gross income.
+     * for the provided filing status and gross income. The tax is calculated in {@code double}
+     * dollars, so it can differ by a cent from the exact result {@link #getTaxRate(TaxResultCache)}
+     * reports.
+     *
+     * @return the calculated tax together with the status, income, bracket and rates it applies to
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
+     */
+    public TaxResult getTaxRate() {
+        TaxResult result = calculate(filingStatus, grossSalary);
+        System.out.println(appendMessage(new StringBuilder(160), result));
+        return result;
+    } // End getTaxRate method
+
+    /**
+     * This method behaves like {@link #getTaxRate()}, but takes the result and its message
+     * from a cache, so a taxpayer whose figures were seen before is neither recalculated nor
+     * reformatted. The gross salary is looked up rounded to the nearest cent.
+     * <p>
+     * The two methods do not calculate the same way. {@link #getTaxRate()} works in
+     * {@code double} dollars on the unrounded salary. The cache holds exact results from
+     * {@link #calculateFromCents}, whose tax is rounded half-up to the cent, because the same
+     * cache serves the HTTP service. A tax that comes to exactly half a cent can therefore
+     * differ by a cent: on a salary of $0.35, {@link #getTaxRate()} reports $0.03 and this
+     * method $0.04.
      *
+     * @param cache the cache to look the result up in
+     * @return the calculated tax together with the status, income, bracket and rates it applies to
+     * @throws IllegalArgumentException if the filing status is not between 1 and 5
      */
-    public void getTaxRate() {
-        switch (filingStatus){
-            case 1:
-                calculateSingle();
-                filingStatusName = "being an Unmarried Individual";
-                break;
-            case 2:
-                calculateHeadOfHousehold();
-                filingStatusName = "being the Head of Household";
-                break;
-            case 3:
-                calculateMarriedFilingSeparate();
-                filingStatusName = "being Married Individuals Filing Separate Returns";
-                break;
-            case 4:
-                calculateMarriedFilingJointlySurvivingSpouse();
-                filingStatusName = "being Married Individuals Filing Joint Returns or Surviving Spouses";
-                break;
-            case 5:
-                calculateEstatesTrusts();
-                filingStatusName = "the Estates and Trusts";
-                break;
-        } // End switch statements
-
-        DecimalFormat df = new DecimalFormat("$###,###.00");
-        String formattedTax = df.format(taxRate);
-        String formattedgrossSalary = df.format(grossSalary);
-        System.out.println("The calculated tax based on " + filingStatusName
-                + " and a gross income of " + formattedgrossSalary + " is " + formattedTax + ".");
+    public TaxResult getTaxRate(TaxResultCache cache) {
+        long incomeCents = CurrencyFormatter.toCents(grossSalary);
+        TaxResultCache.Entry entry = cache.lookup(filingStatus, incomeCents);
+        System.out.println(entry.message());
+        return entry.result();
     } // End getTaxRate method
 
+    /**
+     * This method appends the message displayed by {@link #getTaxRate()} for a result, such as
+     * "The calculated tax based on being an Unmarried Individual and a gross income of
+     * $50,000.00 is $5,914.00.". The amounts are written straight into the builder by
+     * {@link CurrencyFormatter}, so no intermediate strings are created and the builder can be
+     * reused from one message to the next.
+     *
+     * @param sb the builder to append to
+     * @param result the result to describe
+     * @return the builder, for chaining
+     */
+    public static StringBuilder appendMessage(StringBuilder sb, TaxResult result) {
+        sb.append("The calculated tax based on ").append(result.filingStatusName())
+                .append(" and a gross income of ");
+        CurrencyFormatter.appendCurrency(sb, result.grossIncome()).append(" is ");
+        return CurrencyFormatter.appendCurrency(sb, result.tax()).append('.');
+    } // End appendMessage method
+
     /**
      * This method calculates the tax rate for single individuals based on their gross income.
      * The tax is calculated using a progressive tax structure with different portions of the income
@@ -121,39 +488,14 @@ public class TaxTableCalculator {
      * - 35% for income between $250,525 and $626,350
      * - 37% for income above $626,350
      * <p>
-     * The method calculates the total tax by applying the applicable tax rate to the income
-     * in each tax bracket. For each applicable bracket, it calculates the base tax for
-     * the lower brackets and then adds the tax for the income in the current tax bracket.
+     * The method looks up the bracket the income falls into in the {@link #SINGLE} schedule
+     * and adds the tax for the income in that bracket to the precomputed base tax of the
+     * lower brackets.
      *
+     * @return the calculated tax
      */
-    public void calculateSingle(){
-        if (grossSalary <= 11925){
-            taxRate = (grossSalary * PERCENTAGE_10);
-        } else if (grossSalary > 11925 && grossSalary <= 48475) {
-            double baseTax = (11925 * PERCENTAGE_10);
-            taxRate =  baseTax + ((grossSalary - 11925) * PERCENTAGE_12);
-        } else if (grossSalary > 48475 && grossSalary <= 103350){
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12);
-            taxRate = baseTax + ((grossSalary - 48475) * PERCENTAGE_22);
-        } else if (grossSalary > 103350 && grossSalary <= 197300) {
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12)
-                    + ((103350 - 48475) * PERCENTAGE_22);
-            taxRate = baseTax + ((grossSalary - 103350) * PERCENTAGE_24);
-        } else if (grossSalary > 197300 && grossSalary <= 250525){
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12)
-                    + ((103350 - 48475) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24);
-            taxRate = baseTax + ((grossSalary - 197300) * PERCENTAGE_32);
-        } else if (grossSalary > 250525 && grossSalary <= 626350){
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12)
-                    + ((103350 - 48475) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24)
-                    + ((250525 - 197300) * PERCENTAGE_32);
-            taxRate = baseTax + ((grossSalary - 250525) * PERCENTAGE_35);
-        } else if (grossSalary > 626350){
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12)
-                    + ((103350 - 48475) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24)
-                    + ((250525 - 197300) * PERCENTAGE_32) + ((626350 - 250525) * PERCENTAGE_35);
-            taxRate = baseTax + ((grossSalary - 626350) * PERCENTAGE_37);
-        } // End if-else statements
+    public double calculateSingle(){
+        return SINGLE.tax(grossSalary);
     } // End calculateSingle method
 
     /**
@@ -168,39 +510,14 @@ public class TaxTableCalculator {
      * - 35% for income between $250,500 and $626,350
      * - 37% for income above $626,350
      * <p>
-     * The method calculates the total tax by applying the applicable tax rate to the income
-     * in each tax bracket. For each applicable range, it first calculates the base tax for
-     * the lower tax brackets and then adds the tax for the income in the current tax bracket.
+     * The method looks up the bracket the income falls into in the {@link #HEAD_OF_HOUSEHOLD}
+     * schedule and adds the tax for the income in that bracket to the precomputed base tax of
+     * the lower brackets.
      *
+     * @return the calculated tax
      */
-    public void calculateHeadOfHousehold(){
-        if (grossSalary <= 17000){
-            taxRate = (grossSalary * PERCENTAGE_10);
-        } else if (grossSalary > 17000 && grossSalary <= 64850){
-            double baseTax = (17000 * PERCENTAGE_10);
-            taxRate = baseTax + ((grossSalary - 17000) * PERCENTAGE_12);
-        } else if (grossSalary > 64850 && grossSalary <= 103350){
-            double baseTax = (17000 * PERCENTAGE_10) + ((64850 - 17000) * PERCENTAGE_12);
-            taxRate = baseTax + ((grossSalary - 64850) * PERCENTAGE_22);
-        } else if (grossSalary > 103350 && grossSalary <= 197300){
-            double baseTax = (17000 * PERCENTAGE_10) + ((64850 - 17000) * PERCENTAGE_12)
-                    + ((103350 - 64850) * PERCENTAGE_22);
-            taxRate = baseTax + ((grossSalary - 103350) * PERCENTAGE_24);
-        } else if (grossSalary > 197300 && grossSalary <= 250500){
-            double baseTax = (17000 * PERCENTAGE_10) + ((64850 - 17000) * PERCENTAGE_12)
-                    + ((103350 - 64850) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24);
-            taxRate = baseTax + ((grossSalary - 197300) * PERCENTAGE_32);
-        } else if (grossSalary > 250500 && grossSalary <= 626350){
-            double baseTax = (17000 * PERCENTAGE_10) + ((64850 - 17000) * PERCENTAGE_12)
-                    + ((103350 - 64850) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24)
-                    + ((250500 - 197300) * PERCENTAGE_32);
-            taxRate = baseTax + ((grossSalary - 250500) * PERCENTAGE_35);
-        } else if (grossSalary > 626350){
-            double baseTax = (17000 * PERCENTAGE_10) + ((64850 - 17000) * PERCENTAGE_12)
-                    + ((103350 - 64850) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24)
-                    + ((250500 - 197300) * PERCENTAGE_32) + ((626350 - 250500) * PERCENTAGE_35);
-            taxRate = baseTax + ((grossSalary - 626350) * PERCENTAGE_37);
-        } // End if-else statements
+    public double calculateHeadOfHousehold(){
+        return HEAD_OF_HOUSEHOLD.tax(grossSalary);
     } // End calculateHeadHousehold method
 
     /**
@@ -215,39 +532,14 @@ public class TaxTableCalculator {
      * - 35% for income between $250,525 and $375,800
      * - 37% for income above $375,800
      * <p>
-     * The method computes the tax by applying the applicable tax rate to portions of the income
-     * based on the above brackets. For each range, it calculates the base tax for the income
-     * in the lower bracket and then adds the tax for the income in the current bracket.
+     * The method looks up the bracket the income falls into in the {@link #MARRIED_FILING_SEPARATE}
+     * schedule and adds the tax for the income in that bracket to the precomputed base tax of
+     * the lower brackets.
      *
+     * @return the calculated tax
      */
-    public void calculateMarriedFilingSeparate(){
-        if (grossSalary <= 11925){
-            taxRate = (grossSalary * PERCENTAGE_10);
-        } else if (grossSalary > 11925 && grossSalary <= 48475) {
-            double baseTax = (11925 * PERCENTAGE_10);
-            taxRate = baseTax + ((grossSalary - 11925) * PERCENTAGE_12);
-        } else if (grossSalary > 48475 && grossSalary <= 103350){
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12);
-            taxRate = baseTax + ((grossSalary - 48475) * PERCENTAGE_22);
-        } else if (grossSalary > 103350 && grossSalary <= 197300) {
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12)
-                    + ((103350 - 48475) * PERCENTAGE_22);
-            taxRate = baseTax + ((grossSalary - 103350) * PERCENTAGE_24);
-        } else if (grossSalary > 197300 && grossSalary <= 250525){
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12)
-                    + ((103350 - 48475) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24);
-            taxRate = baseTax + ((grossSalary - 197300) * PERCENTAGE_32);
-        } else if (grossSalary > 250525 && grossSalary <= 375800){
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12)
-                    + ((103350 - 48475) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24)
-                    + ((250525 - 197300) * PERCENTAGE_32);
-            taxRate = baseTax + ((grossSalary - 250525) * PERCENTAGE_35);
-        } else if (grossSalary > 375800){
-            double baseTax = (11925 * PERCENTAGE_10) + ((48475 - 11925) * PERCENTAGE_12)
-                    + ((103350 - 48475) * PERCENTAGE_22) + ((197300 - 103350) * PERCENTAGE_24)
-                    + ((250525 - 197300) * PERCENTAGE_32) + ((375800 - 250525) * PERCENTAGE_35);
-            taxRate = baseTax + ((grossSalary - 375800) * PERCENTAGE_37);
-        } // End if-else statements
+    public double calculateMarriedFilingSeparate(){
+        return MARRIED_FILING_SEPARATE.tax(grossSalary);
     } // End calculateMarriedFilingSeparate method
 
     /**
@@ -258,43 +550,17 @@ public class TaxTableCalculator {
      * - 12% for income between $23,850 and $96,950
      * - 22% for income between $96,950 and $206,700
      * - 24% for income between $206,700 and $394,600
-     * - 32% for income between $394,600 and $501,500
-     * - 35% for income between $501,500 and $751,600
+     * - 32% for income between $394,600 and $501,050
+     * - 35% for income between $501,050 and $751,600
      * - 37% for income above $751,600
      * <p>
      * The final tax rate is the sum of the taxes from each applicable tax bracket based on the
-     * gross income provided. The method uses a series of conditional statements to determine
-     * which tax brackets apply to the given gross income and calculate the tax accordingly.
+     * gross income provided, evaluated through the {@link #MARRIED_FILING_JOINTLY} schedule.
      *
+     * @return the calculated tax
      */
-    public void calculateMarriedFilingJointlySurvivingSpouse() {
-        if (grossSalary <= 23850){
-            taxRate = (grossSalary * PERCENTAGE_10);
-        } else if (grossSalary > 23850 && grossSalary <= 96950){
-            double baseTax = (23850 * PERCENTAGE_10);
-            taxRate = baseTax + ((grossSalary - 23850) * PERCENTAGE_12);
-        } else if (grossSalary > 96950 && grossSalary <= 206700){
-            double baseTax = (23850 * PERCENTAGE_10) + ((96950 - 23850) * PERCENTAGE_12);
-            taxRate = baseTax + ((grossSalary - 96950) * PERCENTAGE_22);
-        } else if (grossSalary > 206700 && grossSalary <= 394600){
-            double baseTax = (23850 * PERCENTAGE_10) + ((96950 - 23850) * PERCENTAGE_12)
-                    + ((206700 - 96950) * PERCENTAGE_22);
-            taxRate = baseTax + ((grossSalary - 206700) * PERCENTAGE_24);
-        } else if (grossSalary > 394600 && grossSalary <= 501500){
-            double baseTax = (23850 * PERCENTAGE_10) + ((96950 - 23850) * PERCENTAGE_12)
-                    + ((206700 - 96950) * PERCENTAGE_22) + ((394600 - 206700) * PERCENTAGE_24);
-            taxRate = baseTax + ((grossSalary - 394600) * PERCENTAGE_32);
-        } else if (grossSalary > 501500 && grossSalary <=751600){
-            double baseTax = (23850 * PERCENTAGE_10) + ((96950 - 23850) * PERCENTAGE_12)
-                    + ((206700 - 96950) * PERCENTAGE_22) + ((394600 - 206700) * PERCENTAGE_24)
-                    + ((501050 - 394600) * PERCENTAGE_32);
-            taxRate = baseTax + ((grossSalary - 501050) * PERCENTAGE_35);
-        } else if (grossSalary > 751600) {
-            double baseTax = (23850 * PERCENTAGE_10) + ((96950 - 23850) * PERCENTAGE_12)
-                    + ((206700 - 96950) * PERCENTAGE_22) + ((394600 - 206700) * PERCENTAGE_24)
-                    + ((501050 - 394600) * PERCENTAGE_32) + ((751600 - 501050) * PERCENTAGE_35);
-            taxRate = baseTax + ((grossSalary - 751600) * PERCENTAGE_37);
-        } // End if-else statements
+    public double calculateMarriedFilingJointlySurvivingSpouse() {
+        return MARRIED_FILING_JOINTLY.tax(grossSalary);
     } // calculateMarriedJointlySurvivingSpouse method
 
     /**
@@ -304,26 +570,15 @@ public class TaxTableCalculator {
      * - 10% for income up to $3150
      * - 24% for income between $3150 and $11,450
      * - 35% for income between $11,450 and $15,650
-     * - 35% for income above $15,650
+     * - 37% for income above $15,650
      * <p>
      * The final tax rate is the sum of the taxes from each applicable tier based on the
-     * gross income provided.
+     * gross income provided, evaluated through the {@link #ESTATES_TRUSTS} schedule.
      *
+     * @return the calculated tax
      */
-    public void calculateEstatesTrusts(){
-        if (grossSalary <= 3150){
-            taxRate = (grossSalary * PERCENTAGE_10);
-        } else if (grossSalary > 3150 && grossSalary <= 11450){
-            double baseTax = (3150 * PERCENTAGE_10);
-            taxRate = baseTax + ((grossSalary - 3150) * PERCENTAGE_24);
-        } else if (grossSalary > 11450 && grossSalary <= 15650){
-            double baseTax = (3150 * PERCENTAGE_10) + ((11450 - 3150) * PERCENTAGE_24);
-            taxRate = baseTax + ((grossSalary - 11450) * PERCENTAGE_35);
-        } else if (grossSalary > 15650){
-            double baseTax = (3150 * PERCENTAGE_10) + ((11450 - 3150) * PERCENTAGE_24)
-                    + ((15650 - 11450) * PERCENTAGE_35);
-            taxRate = baseTax + ((grossSalary - 15650) * PERCENTAGE_35);
-        }  // End if-else statements
+    public double calculateEstatesTrusts(){
+        return ESTATES_TRUSTS.tax(grossSalary);
     } // End EstatesTrusts method
 
 } // End TaxTableCalculator class